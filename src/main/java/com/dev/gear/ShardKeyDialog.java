@@ -0,0 +1,69 @@
+package com.dev.gear;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+import com.intellij.ui.components.JBCheckBox;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.util.ui.JBUI;
+
+import javax.swing.*;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lets the user mark the shard and partition key fields of one entity.
+ */
+class ShardKeyDialog extends DialogWrapper {
+
+    private final ShardKeySettings settings;
+    private final String entityName;
+    private final Map<String, JBCheckBox> fieldCheckBoxes = new LinkedHashMap<>();
+    private final JBCheckBox requireCheckBox = new JBCheckBox("Refuse statements without a shard key predicate");
+
+    ShardKeyDialog(Project project, PsiClass databaseEntityClass) {
+        super(project);
+        this.settings = ShardKeySettings.getInstance(project);
+        this.entityName = databaseEntityClass.getQualifiedName();
+        Set<String> shardKeys = settings.getShardKeys(entityName);
+        for (PsiField field : databaseEntityClass.getAllFields()) {
+            if (!field.hasModifierProperty(PsiModifier.STATIC)) {
+                fieldCheckBoxes.put(field.getName(), new JBCheckBox(field.getName(), shardKeys.contains(field.getName())));
+            }
+        }
+        requireCheckBox.setSelected(settings.isRequireShardKey());
+        init();
+        setTitle("Shard Keys of " + databaseEntityClass.getName());
+    }
+
+    @Override
+    protected JComponent createCenterPanel() {
+        JPanel fieldsPanel = new JPanel();
+        fieldsPanel.setLayout(new BoxLayout(fieldsPanel, BoxLayout.Y_AXIS));
+        fieldCheckBoxes.values().forEach(fieldsPanel::add);
+
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setBorder(JBUI.Borders.empty(10));
+        panel.add(new JBScrollPane(fieldsPanel));
+        panel.add(requireCheckBox);
+        return panel;
+    }
+
+    @Override
+    protected void doOKAction() {
+        Set<String> shardKeys = new LinkedHashSet<>();
+        fieldCheckBoxes.forEach((fieldName, checkBox) -> {
+            if (checkBox.isSelected()) {
+                shardKeys.add(fieldName);
+            }
+        });
+        settings.setShardKeys(entityName, shardKeys);
+        settings.setRequireShardKey(requireCheckBox.isSelected());
+        super.doOKAction();
+    }
+}
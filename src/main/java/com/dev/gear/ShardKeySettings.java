@@ -0,0 +1,67 @@
+package com.dev.gear;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shard and partition key fields of each entity, stored with the project so the whole team generates
+ * statements that route to a single shard and prune partitions.
+ */
+@Service(Service.Level.PROJECT)
+@State(name = "InteractiveSqlGeneratorShardKeys", storages = @Storage("interactiveSqlGenerator.xml"))
+public final class ShardKeySettings implements PersistentStateComponent<ShardKeySettings.KeyState> {
+
+    public static class KeyState {
+        public Map<String, List<String>> entityShardKeys = new LinkedHashMap<>();
+        public boolean requireShardKey = true;
+    }
+
+    private KeyState keyState = new KeyState();
+
+    public static ShardKeySettings getInstance(Project project) {
+        return project.getService(ShardKeySettings.class);
+    }
+
+    @Override
+    public KeyState getState() {
+        return keyState;
+    }
+
+    @Override
+    public void loadState(@NotNull KeyState state) {
+        this.keyState = state;
+    }
+
+    public Set<String> getShardKeys(String entityQualifiedName) {
+        List<String> keys = keyState.entityShardKeys.get(entityQualifiedName);
+        return keys != null ? new LinkedHashSet<>(keys) : new LinkedHashSet<>();
+    }
+
+    public void setShardKeys(String entityQualifiedName, Collection<String> fieldNames) {
+        if (fieldNames.isEmpty()) {
+            keyState.entityShardKeys.remove(entityQualifiedName);
+        } else {
+            keyState.entityShardKeys.put(entityQualifiedName, new ArrayList<>(fieldNames));
+        }
+    }
+
+    public boolean isRequireShardKey() {
+        return keyState.requireShardKey;
+    }
+
+    public void setRequireShardKey(boolean requireShardKey) {
+        keyState.requireShardKey = requireShardKey;
+    }
+}
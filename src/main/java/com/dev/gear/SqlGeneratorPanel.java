@@ -0,0 +1,527 @@
+package com.dev.gear;
+
+import com.dev.gear.generator.BenchmarkGenerator;
+import com.dev.gear.generator.IndexAdvisor;
+import com.dev.gear.generator.SlowStatementMonitorGenerator;
+import com.dev.gear.generator.SqlGenerator;
+import com.dev.gear.generator.SqlGeneratorFactory;
+import com.dev.gear.index.MapperStatementFingerprintIndex;
+import com.dev.gear.type.ExecutionModel;
+import com.dev.gear.type.NamingStrategy;
+import com.dev.gear.type.OrmType;
+import com.dev.gear.type.SqlDialect;
+import com.dev.gear.type.SqlShapeMode;
+import com.dev.gear.type.SqlType;
+import com.dev.gear.util.ClassChooserUtil;
+import com.dev.gear.util.FieldMatcher;
+import com.dev.gear.util.FieldSelectionTableModel;
+import com.dev.gear.util.StatementFingerprint;
+import com.dev.gear.util.StatementWriter;
+import com.dev.gear.util.UIHelper;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.ui.DocumentAdapter;
+import com.intellij.util.Alarm;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.text.JTextComponent;
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Content of the generator tool window. Edits to the field table or the combo boxes only re-run the generator,
+ * debounced and off the EDT, and the preview is updated when the result is ready.
+ */
+public class SqlGeneratorPanel extends JPanel implements Disposable {
+
+    private static final int PREVIEW_DELAY_MS = 300;
+    private static final int INDEX_TAB = 1;
+    private static final int BENCHMARK_TAB = 2;
+    private static final int MONITOR_TAB = 3;
+
+    private final Project project;
+    private final SqlGeneratorState state;
+    private final JComboBox<SqlType> sqlTypeCombo = new JComboBox<>(SqlType.values());
+    private final JComboBox<OrmType> ormCombo = new JComboBox<>(OrmType.values());
+    private final JComboBox<ExecutionModel> executionCombo = new JComboBox<>(ExecutionModel.values());
+    private final JTextField executorField = new JTextField(8);
+    private final JComboBox<SqlShapeMode> shapeCombo = new JComboBox<>(SqlShapeMode.values());
+    private final JComboBox<NamingStrategy> namingCombo = new JComboBox<>(NamingStrategy.values());
+    private final JComboBox<SqlDialect> dialectCombo = new JComboBox<>(SqlDialect.values());
+    private final JTextField tablePrefixField = new JTextField(4);
+    private final JCheckBox rewriteCheckBox = new JCheckBox("Rewrite Anti-Patterns");
+    private final JCheckBox dirtyFieldsCheckBox = new JCheckBox("Dirty Fields Only");
+    private final JCheckBox versionCheckBox = new JCheckBox("Version Check");
+    private final JCheckBox cacheCheckBox = new JCheckBox("Cache Results");
+    private final JSpinner cacheSizeSpinner = new JSpinner(new SpinnerNumberModel(1024, 1, 1_000_000, 128));
+    private final JSpinner cacheFlushSpinner = new JSpinner(new SpinnerNumberModel(60_000, 0, Integer.MAX_VALUE, 1_000));
+    private final FieldSelectionTableModel model = new FieldSelectionTableModel();
+    private final JTable table;
+    private final JTextArea previewArea = new JTextArea();
+    private final JTextArea indexArea = new JTextArea();
+    private final JTextArea benchmarkArea = new JTextArea();
+    private final JTextArea monitorArea = new JTextArea();
+    private final JTabbedPane previewTabs = new JTabbedPane();
+    private final JSpinner slowThresholdSpinner = new JSpinner(new SpinnerNumberModel(500, 0, Integer.MAX_VALUE, 100));
+    private final JSpinner benchmarkRowsSpinner = new JSpinner(new SpinnerNumberModel(100_000, 1, 100_000_000, 10_000));
+    private final JLabel unmatchedLabel = new JLabel();
+    private final JLabel fingerprintLabel = new JLabel();
+    private final Alarm previewAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+    private final List<StatementWriter.GeneratedStatement> batch = new ArrayList<>();
+    private final JButton applyBatchButton = new JButton();
+
+    public SqlGeneratorPanel(Project project) {
+        super(new BorderLayout());
+        this.project = project;
+        this.state = SqlGeneratorProjectService.getInstance(project).getState();
+
+        // Add SQL Type and ORM selection
+        JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        ormCombo.addActionListener(e -> {
+            OrmType selectedOrm = (OrmType) ormCombo.getSelectedItem();
+            updateSqlTypeCombo(selectedOrm);
+            shapeCombo.setEnabled(selectedOrm == OrmType.MYBATIS);
+            dialectCombo.setEnabled(selectedOrm != OrmType.JPA);
+            cacheSizeSpinner.setEnabled(selectedOrm == OrmType.MYBATIS);
+            updateExecutionControls();
+            cacheFlushSpinner.setEnabled(selectedOrm == OrmType.MYBATIS);
+            schedulePreview();
+        });
+        sqlTypeCombo.addActionListener(e -> schedulePreview());
+        executionCombo.addActionListener(e -> {
+            updateExecutionControls();
+            schedulePreview();
+        });
+        executorField.getDocument().addDocumentListener(new DocumentAdapter() {
+            @Override
+            protected void textChanged(@NotNull DocumentEvent e) {
+                schedulePreview();
+            }
+        });
+        shapeCombo.addActionListener(e -> schedulePreview());
+        namingCombo.addActionListener(e -> schedulePreview());
+        dialectCombo.addActionListener(e -> schedulePreview());
+        rewriteCheckBox.addActionListener(e -> schedulePreview());
+        dirtyFieldsCheckBox.addActionListener(e -> schedulePreview());
+        versionCheckBox.addActionListener(e -> schedulePreview());
+        cacheCheckBox.addActionListener(e -> schedulePreview());
+        cacheSizeSpinner.addChangeListener(e -> schedulePreview());
+        cacheFlushSpinner.addChangeListener(e -> schedulePreview());
+        benchmarkRowsSpinner.addChangeListener(e -> schedulePreview());
+        slowThresholdSpinner.addChangeListener(e -> schedulePreview());
+        tablePrefixField.getDocument().addDocumentListener(new DocumentAdapter() {
+            @Override
+            protected void textChanged(@NotNull DocumentEvent e) {
+                schedulePreview();
+            }
+        });
+        JButton chooseClassesButton = new JButton("Choose Classes");
+        JButton shardKeysButton = new JButton("Shard Keys...");
+        topPanel.add(new JLabel("SQL Type:"));
+        topPanel.add(sqlTypeCombo);
+        topPanel.add(new JLabel("ORM:"));
+        topPanel.add(ormCombo);
+        topPanel.add(new JLabel("Execution:"));
+        topPanel.add(executionCombo);
+        topPanel.add(new JLabel("Executor:"));
+        topPanel.add(executorField);
+        topPanel.add(new JLabel("Shape:"));
+        topPanel.add(shapeCombo);
+        topPanel.add(new JLabel("Dialect:"));
+        topPanel.add(dialectCombo);
+        topPanel.add(new JLabel("Naming:"));
+        topPanel.add(namingCombo);
+        topPanel.add(new JLabel("Table Prefix:"));
+        topPanel.add(tablePrefixField);
+        topPanel.add(rewriteCheckBox);
+        topPanel.add(dirtyFieldsCheckBox);
+        topPanel.add(versionCheckBox);
+        topPanel.add(cacheCheckBox);
+        topPanel.add(new JLabel("Cache Size:"));
+        topPanel.add(cacheSizeSpinner);
+        topPanel.add(new JLabel("Flush (ms):"));
+        topPanel.add(cacheFlushSpinner);
+        topPanel.add(new JLabel("Benchmark Rows:"));
+        topPanel.add(benchmarkRowsSpinner);
+        topPanel.add(new JLabel("Slow (ms):"));
+        topPanel.add(slowThresholdSpinner);
+        topPanel.add(chooseClassesButton);
+        topPanel.add(shardKeysButton);
+        add(topPanel, BorderLayout.NORTH);
+
+        // Field selection table
+        model.addTableModelListener(e -> schedulePreview());
+        table = UIHelper.createFieldSelectionTable(model);
+
+        JPanel tablePanel = new JPanel(new BorderLayout());
+        tablePanel.add(createTableToolbar(), BorderLayout.NORTH);
+        tablePanel.add(new JScrollPane(table), BorderLayout.CENTER);
+
+        previewArea.setEditable(false);
+        indexArea.setEditable(false);
+        benchmarkArea.setEditable(false);
+        monitorArea.setEditable(false);
+        JPanel codePanel = new JPanel(new BorderLayout());
+        codePanel.add(new JScrollPane(previewArea), BorderLayout.CENTER);
+        codePanel.add(fingerprintLabel, BorderLayout.SOUTH);
+        previewTabs.addTab("Code", codePanel);
+        previewTabs.addTab("Index Suggestion", new JScrollPane(indexArea));
+        previewTabs.addTab("Benchmark", new JScrollPane(benchmarkArea));
+        previewTabs.addTab("Slow Statement Monitor", new JScrollPane(monitorArea));
+        previewTabs.addChangeListener(e -> schedulePreview());
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, tablePanel, previewTabs);
+        splitPane.setResizeWeight(0.5);
+        add(splitPane, BorderLayout.CENTER);
+
+        JButton copyButton = new JButton("Copy to Clipboard");
+        copyButton.addActionListener(e -> copyToClipboard(previewArea.getText()));
+        JButton insertButton = new JButton("Insert into Project");
+        insertButton.addActionListener(e -> {
+            StatementWriter.GeneratedStatement statement = generateCurrentStatement();
+            if (statement != null) {
+                writeStatements(Collections.singletonList(statement));
+            }
+        });
+        JButton addToBatchButton = new JButton("Add to Batch");
+        addToBatchButton.addActionListener(e -> {
+            StatementWriter.GeneratedStatement statement = generateCurrentStatement();
+            if (statement != null) {
+                batch.add(statement);
+                updateApplyBatchButton();
+            }
+        });
+        applyBatchButton.addActionListener(e -> {
+            writeStatements(new ArrayList<>(batch));
+            batch.clear();
+            updateApplyBatchButton();
+        });
+        updateApplyBatchButton();
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.add(addToBatchButton);
+        buttonPanel.add(applyBatchButton);
+        buttonPanel.add(insertButton);
+        buttonPanel.add(copyButton);
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.add(unmatchedLabel, BorderLayout.WEST);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        chooseClassesButton.addActionListener(e -> {
+            ClassChooserUtil.SelectedClasses selectedClasses = ClassChooserUtil.chooseClasses(project);
+            if (selectedClasses != null) {
+                state.setClasses(selectedClasses.selectedClass, selectedClasses.databaseEntityClass);
+                updateFieldSelectionTable();
+            }
+        });
+        shardKeysButton.addActionListener(e -> {
+            if (state.hasClasses() && new ShardKeyDialog(project, state.getDatabaseEntityClass()).showAndGet()) {
+                schedulePreview();
+            }
+        });
+
+        restoreState();
+    }
+
+    private JPanel createTableToolbar() {
+        JTextField filterField = new JTextField(15);
+        filterField.getDocument().addDocumentListener(new DocumentAdapter() {
+            @Override
+            protected void textChanged(@NotNull DocumentEvent e) {
+                model.setFilter(filterField.getText());
+            }
+        });
+        JButton selectAllButton = new JButton("Select All");
+        selectAllButton.addActionListener(e -> model.setVisibleRowsIncluded(true));
+        JButton deselectAllButton = new JButton("Deselect All");
+        deselectAllButton.addActionListener(e -> model.setVisibleRowsIncluded(false));
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        toolbar.add(new JLabel("Filter:"));
+        toolbar.add(filterField);
+        toolbar.add(selectAllButton);
+        toolbar.add(deselectAllButton);
+        return toolbar;
+    }
+
+    private void restoreState() {
+        if (state.orm != null) {
+            ormCombo.setSelectedItem(state.orm);
+        }
+        if (state.sqlType != null) {
+            sqlTypeCombo.setSelectedItem(state.sqlType);
+        }
+        shapeCombo.setSelectedItem(state.options.getShapeMode());
+        namingCombo.setSelectedItem(state.options.getNamingStrategy());
+        dialectCombo.setSelectedItem(state.options.getDialect());
+        tablePrefixField.setText(state.options.getTablePrefix());
+        rewriteCheckBox.setSelected(state.options.isRewriteAntiPatterns());
+        dirtyFieldsCheckBox.setSelected(state.options.isDirtyFieldUpdate());
+        versionCheckBox.setSelected(state.options.isOptimisticLocking());
+        cacheCheckBox.setSelected(state.options.isResultCaching());
+        executionCombo.setSelectedItem(state.options.getExecutionModel());
+        executorField.setText(state.options.getAsyncExecutor());
+        updateExecutionControls();
+        cacheSizeSpinner.setValue(state.options.getCacheSize());
+        cacheFlushSpinner.setValue((int) state.options.getCacheFlushIntervalMs());
+        benchmarkRowsSpinner.setValue(state.options.getBenchmarkRowCount());
+        slowThresholdSpinner.setValue((int) state.options.getSlowStatementThresholdMs());
+        if (state.hasClasses()) {
+            updateFieldSelectionTable();
+        }
+    }
+
+    /**
+     * MyBatis mapper XML has no execution model, and the reactive model replaces the ORM code with R2DBC code,
+     * so the combo is disabled or explains what the selection produces.
+     */
+    private void updateExecutionControls() {
+        OrmType selectedOrm = (OrmType) ormCombo.getSelectedItem();
+        ExecutionModel executionModel = (ExecutionModel) executionCombo.getSelectedItem();
+        boolean mybatis = selectedOrm == OrmType.MYBATIS;
+        executionCombo.setEnabled(!mybatis);
+        executorField.setEnabled(!mybatis && executionModel == ExecutionModel.COMPLETABLE_FUTURE);
+        if (mybatis) {
+            executionCombo.setToolTipText("MyBatis mapper XML is always blocking; declare async or reactive methods on the mapper interface");
+        } else if (executionModel == ExecutionModel.REACTIVE) {
+            executionCombo.setToolTipText("Generates Spring Data R2DBC code in place of the " + selectedOrm + " code");
+        } else {
+            executionCombo.setToolTipText(null);
+        }
+    }
+
+    private void updateSqlTypeCombo(OrmType selectedOrm) {
+        Object previousSqlType = sqlTypeCombo.getSelectedItem();
+        sqlTypeCombo.removeAllItems();
+        for (SqlType sqlType : selectedOrm.getSupportedSqlTypes()) {
+            sqlTypeCombo.addItem(sqlType);
+        }
+        sqlTypeCombo.setSelectedItem(previousSqlType);
+    }
+
+    private void updateFieldSelectionTable() {
+        model.clear();
+        unmatchedLabel.setText("");
+        if (state.hasClasses()) {
+            PsiField[] fields = state.getSelectedClass().getAllFields();
+            PsiField[] databaseEntityFields = state.getDatabaseEntityClass().getAllFields();
+            String[] databaseFieldNames = Arrays.stream(databaseEntityFields)
+                    .map(PsiField::getName)
+                    .toArray(String[]::new);
+            FieldMatcher fieldMatcher = new FieldMatcher(databaseEntityFields);
+            List<String> unmatchedFields = new ArrayList<>();
+            String[] matchingDatabaseFields = new String[fields.length];
+
+            for (int i = 0; i < fields.length; i++) {
+                String matchingDatabaseField = fieldMatcher.findMatchingField(fields[i]);
+                if (matchingDatabaseField == null) {
+                    unmatchedFields.add(fields[i].getName());
+                    matchingDatabaseField = "";
+                }
+                matchingDatabaseFields[i] = matchingDatabaseField;
+            }
+            model.setFields(fields, matchingDatabaseFields);
+
+            UIHelper.setupTableRenderers(table, databaseFieldNames);
+            if (!unmatchedFields.isEmpty()) {
+                unmatchedLabel.setText("No entity field for: " + String.join(", ", unmatchedFields));
+            }
+        }
+    }
+
+    private List<String> getUnmappedSelectedFields() {
+        List<String> unmapped = new ArrayList<>();
+        for (FieldWithCondition fwc : state.selectedFields) {
+            if (fwc.getDatabaseField() == null || fwc.getDatabaseField().isEmpty()) {
+                unmapped.add(fwc.getField().getName());
+            }
+        }
+        return unmapped;
+    }
+
+    private void schedulePreview() {
+        previewAlarm.cancelAllRequests();
+        previewAlarm.addRequest(this::regeneratePreview, PREVIEW_DELAY_MS);
+    }
+
+    private void syncState() {
+        state.selectedFields = model.getSelectedFields();
+        state.sqlType = (SqlType) sqlTypeCombo.getSelectedItem();
+        state.orm = (OrmType) ormCombo.getSelectedItem();
+        state.options.setShapeMode((SqlShapeMode) shapeCombo.getSelectedItem());
+        state.options.setNamingStrategy((NamingStrategy) namingCombo.getSelectedItem());
+        state.options.setDialect((SqlDialect) dialectCombo.getSelectedItem());
+        state.options.setTablePrefix(tablePrefixField.getText().trim());
+        state.options.setRewriteAntiPatterns(rewriteCheckBox.isSelected());
+        state.options.setDirtyFieldUpdate(dirtyFieldsCheckBox.isSelected());
+        state.options.setOptimisticLocking(versionCheckBox.isSelected());
+        state.options.setResultCaching(cacheCheckBox.isSelected());
+        state.options.setExecutionModel((ExecutionModel) executionCombo.getSelectedItem());
+        state.options.setAsyncExecutor(executorField.getText().trim());
+        state.options.setCacheSize((Integer) cacheSizeSpinner.getValue());
+        state.options.setCacheFlushIntervalMs((Integer) cacheFlushSpinner.getValue());
+        state.options.setBenchmarkRowCount((Integer) benchmarkRowsSpinner.getValue());
+        state.options.setSlowStatementThresholdMs((Integer) slowThresholdSpinner.getValue());
+        ShardKeySettings shardKeySettings = ShardKeySettings.getInstance(project);
+        state.options.setShardKeyFields(state.hasClasses()
+                ? shardKeySettings.getShardKeys(state.getDatabaseEntityClass().getQualifiedName())
+                : Collections.emptySet());
+        state.options.setRequireShardKey(shardKeySettings.isRequireShardKey());
+    }
+
+    private boolean isReadyToGenerate() {
+        return state.hasClasses() && state.sqlType != null && state.orm != null;
+    }
+
+    private void regeneratePreview() {
+        syncState();
+        if (!isReadyToGenerate()) {
+            showPreview(new String[]{"", "", "", "", ""});
+            return;
+        }
+        List<String> unmappedFields = getUnmappedSelectedFields();
+        if (!unmappedFields.isEmpty()) {
+            showPreview(new String[]{"Error: choose a Database Entity Field for " + String.join(", ", unmappedFields), "", "", "", ""});
+            return;
+        }
+
+        PsiClass selectedClass = state.getSelectedClass();
+        PsiClass databaseEntityClass = state.getDatabaseEntityClass();
+        List<FieldWithCondition> selectedFields = state.selectedFields;
+        SqlType sqlType = state.sqlType;
+        OrmType ormType = state.orm;
+        // Generators snapshot the options here, the panel keeps mutating them on the EDT
+        SqlGenerator sqlGenerator = SqlGeneratorFactory.createSqlGenerator(ormType, state.options);
+        IndexAdvisor indexAdvisor = new IndexAdvisor(state.options);
+        BenchmarkGenerator benchmarkGenerator = new BenchmarkGenerator(state.options);
+        SlowStatementMonitorGenerator monitorGenerator = new SlowStatementMonitorGenerator(state.options);
+        int selectedTab = previewTabs.getSelectedIndex();
+
+        // Only the visible tab is generated; switching tabs schedules a new preview
+        ReadAction.nonBlocking(() -> {
+                    String[] results = new String[5];
+                    switch (selectedTab) {
+                        case INDEX_TAB:
+                            results[1] = indexAdvisor.suggest(databaseEntityClass, selectedFields, sqlType);
+                            break;
+                        case BENCHMARK_TAB:
+                            try {
+                                results[2] = benchmarkGenerator.generate(ormType, selectedClass, selectedFields, sqlType, databaseEntityClass);
+                            } catch (IllegalArgumentException ex) {
+                                results[2] = "Error: " + ex.getMessage();
+                            }
+                            break;
+                        case MONITOR_TAB:
+                            results[4] = monitorGenerator.generate(ormType, selectedClass, sqlType, databaseEntityClass);
+                            break;
+                        default:
+                            try {
+                                results[0] = sqlGenerator.generateSql(selectedClass, selectedFields, sqlType, databaseEntityClass);
+                                results[3] = describeFingerprints(results[0], ormType);
+                            } catch (IllegalArgumentException ex) {
+                                results[0] = "Error: " + ex.getMessage();
+                                results[3] = "";
+                            }
+                    }
+                    return results;
+                })
+                .coalesceBy(this)
+                .expireWith(this)
+                .finishOnUiThread(ModalityState.any(), this::showPreview)
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * @param results code, index suggestion, benchmark, fingerprints and slow-statement monitor, in that order;
+     *                {@code null} leaves the text of a tab that was not generated
+     */
+    private void showPreview(String[] results) {
+        JTextComponent[] targets = {previewArea, indexArea, benchmarkArea, null, monitorArea};
+        for (int i = 0; i < targets.length; i++) {
+            if (results[i] != null && targets[i] != null) {
+                targets[i].setText(results[i]);
+            }
+        }
+        if (results[3] != null) {
+            fingerprintLabel.setText(results[3]);
+        }
+    }
+
+    /**
+     * Fingerprints every generated mapper statement and names the existing statements it duplicates; Java output
+     * is fingerprinted as a whole.
+     */
+    private String describeFingerprints(String code, OrmType ormType) {
+        if (ormType != OrmType.MYBATIS) {
+            return "Fingerprint: " + StatementFingerprint.of(code);
+        }
+        List<String> descriptions = new ArrayList<>();
+        boolean indexReady = !DumbService.isDumb(project);
+        for (String statement : StatementFingerprint.findStatementTexts(code)) {
+            String fingerprint = StatementFingerprint.of(statement);
+            List<String> equivalents = indexReady
+                    ? MapperStatementFingerprintIndex.findStatements(project, fingerprint)
+                    : Collections.emptyList();
+            descriptions.add(equivalents.isEmpty()
+                    ? fingerprint
+                    : fingerprint + " (same as " + String.join(", ", equivalents) + ")");
+        }
+        return descriptions.isEmpty() ? "" : "Fingerprint: " + String.join("; ", descriptions);
+    }
+
+    private StatementWriter.GeneratedStatement generateCurrentStatement() {
+        syncState();
+        if (!isReadyToGenerate()) {
+            JOptionPane.showMessageDialog(this, "Please choose the classes first.", "Nothing to Insert", JOptionPane.WARNING_MESSAGE);
+            return null;
+        }
+        List<String> unmappedFields = getUnmappedSelectedFields();
+        if (!unmappedFields.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Choose a Database Entity Field for " + String.join(", ", unmappedFields),
+                    "Unmatched Fields", JOptionPane.WARNING_MESSAGE);
+            return null;
+        }
+        SqlGenerator sqlGenerator = SqlGeneratorFactory.createSqlGenerator(state.orm, state.options);
+        try {
+            PsiClass databaseEntityClass = state.getDatabaseEntityClass();
+            String text = sqlGenerator.generateSql(state.getSelectedClass(), state.selectedFields, state.sqlType, databaseEntityClass);
+            return new StatementWriter.GeneratedStatement(state.orm, databaseEntityClass, text);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
+    }
+
+    private void writeStatements(List<StatementWriter.GeneratedStatement> statements) {
+        List<String> problems = StatementWriter.write(project, statements);
+        if (!problems.isEmpty()) {
+            JOptionPane.showMessageDialog(this, String.join("\n", problems), "Insert Generated SQL", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
+    private void updateApplyBatchButton() {
+        applyBatchButton.setText("Apply Batch (" + batch.size() + ")");
+        applyBatchButton.setEnabled(!batch.isEmpty());
+    }
+
+    private void copyToClipboard(String text) {
+        StringSelection stringSelection = new StringSelection(text);
+        Toolkit.getDefaultToolkit().getSystemClipboard().setContents(stringSelection, null);
+        JOptionPane.showMessageDialog(this, "SQL copied to clipboard!", "Success", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
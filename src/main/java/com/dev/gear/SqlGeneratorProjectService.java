@@ -0,0 +1,21 @@
+package com.dev.gear;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+
+/**
+ * Holds the generator state of one project, so that projects open in the same IDE do not share selections.
+ */
+@Service(Service.Level.PROJECT)
+public final class SqlGeneratorProjectService {
+
+    private final SqlGeneratorState state = new SqlGeneratorState();
+
+    public static SqlGeneratorProjectService getInstance(Project project) {
+        return project.getService(SqlGeneratorProjectService.class);
+    }
+
+    public SqlGeneratorState getState() {
+        return state;
+    }
+}
@@ -0,0 +1,48 @@
+package com.dev.gear;
+
+import com.dev.gear.generator.GeneratorOptions;
+import com.dev.gear.type.OrmType;
+import com.dev.gear.type.SqlType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The classes are held through smart pointers: the project service keeps this state for the lifetime of the
+ * project, and a raw PSI reference would pin its file's PSI tree and go invalid after reparsing.
+ */
+public class SqlGeneratorState {
+    private SmartPsiElementPointer<PsiClass> selectedClass;
+    private SmartPsiElementPointer<PsiClass> databaseEntityClass;
+    List<FieldWithCondition> selectedFields = Collections.emptyList();
+    SqlType sqlType;
+    OrmType orm;
+    GeneratorOptions options = new GeneratorOptions();
+
+    public GeneratorOptions getOptions() {
+        return options;
+    }
+
+    void setClasses(PsiClass selectedClass, PsiClass databaseEntityClass) {
+        SmartPointerManager pointerManager = SmartPointerManager.getInstance(selectedClass.getProject());
+        this.selectedClass = pointerManager.createSmartPsiElementPointer(selectedClass);
+        this.databaseEntityClass = pointerManager.createSmartPsiElementPointer(databaseEntityClass);
+    }
+
+    PsiClass getSelectedClass() {
+        return selectedClass != null ? selectedClass.getElement() : null;
+    }
+
+    PsiClass getDatabaseEntityClass() {
+        return databaseEntityClass != null ? databaseEntityClass.getElement() : null;
+    }
+
+    boolean hasClasses() {
+        PsiClass selected = getSelectedClass();
+        PsiClass databaseEntity = getDatabaseEntityClass();
+        return selected != null && selected.isValid() && databaseEntity != null && databaseEntity.isValid();
+    }
+}
@@ -0,0 +1,52 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.OrmType;
+import com.dev.gear.type.SqlType;
+import com.intellij.psi.PsiClass;
+
+import java.util.List;
+
+/**
+ * Reports the anti-patterns found by {@link SqlAntiPatternAnalyzer} as comments above the generated code, and
+ * refuses DML without predicates when rewrites are enabled. The output is whitespace-normalized so it can be
+ * fingerprinted with {@link com.dev.gear.util.StatementFingerprint}.
+ */
+class AnalyzingSqlGenerator implements SqlGenerator {
+
+    private final SqlGenerator delegate;
+    private final OrmType ormType;
+    private final boolean rewriteAntiPatterns;
+
+    private final SqlAntiPatternAnalyzer analyzer = new SqlAntiPatternAnalyzer();
+
+    AnalyzingSqlGenerator(SqlGenerator delegate, OrmType ormType, GeneratorOptions options) {
+        this.delegate = delegate;
+        this.ormType = ormType;
+        this.rewriteAntiPatterns = options.isRewriteAntiPatterns();
+    }
+
+    @Override
+    public String generateSql(PsiClass selectedClass, List<FieldWithCondition> selectedFields, SqlType sqlType, PsiClass databaseEntityClass) {
+        StringBuilder code = new StringBuilder();
+        for (SqlAntiPatternAnalyzer.Finding finding : analyzer.analyze(selectedFields, sqlType)) {
+            if (rewriteAntiPatterns && finding.getKind() == SqlAntiPatternAnalyzer.Kind.UNBOUNDED_DML) {
+                throw new IllegalArgumentException(finding.getMessage() + "; select at least one field");
+            }
+            String message = "Warning: " + finding.getMessage();
+            code.append(ormType == OrmType.MYBATIS ? "<!-- " + message + " -->" : "// " + message).append("\n");
+        }
+        code.append(delegate.generateSql(selectedClass, selectedFields, sqlType, databaseEntityClass));
+        return normalizeWhitespace(code.toString());
+    }
+
+    /**
+     * Strips trailing blanks and collapses runs of empty lines, so the same statement always renders to the
+     * same text regardless of which branches of the generator produced it.
+     */
+    private static String normalizeWhitespace(String code) {
+        return code.replaceAll("[ \\t]+(?=\\n)", "")
+                .replaceAll("\\n{3,}", "\n\n")
+                .replaceAll("^\\n+|\\s+$", "") + "\n";
+    }
+}
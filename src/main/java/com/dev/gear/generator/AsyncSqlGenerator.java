@@ -0,0 +1,78 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.ExecutionModel;
+import com.dev.gear.type.SqlType;
+import com.dev.gear.util.StatementWriter;
+import com.intellij.psi.PsiClass;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Appends a {@code CompletableFuture} variant to the blocking method of the wrapped generator. The variant calls
+ * the blocking method through a lazily self-injected Spring proxy, so its transaction and cache annotations
+ * still apply. The proxy and executor fields are part of the output; the statement writer inserts the ones the
+ * service class does not declare yet.
+ */
+class AsyncSqlGenerator implements SqlGenerator {
+
+    private static final Pattern METHOD_HEADER = Pattern.compile("^public (\\S+(?:<[^>]*>)?) (\\w+)\\((\\w+) entity\\) \\{$", Pattern.MULTILINE);
+    private static final Map<String, String> BOXED_TYPES = new HashMap<>();
+
+    static {
+        BOXED_TYPES.put("boolean", "Boolean");
+        BOXED_TYPES.put("int", "Integer");
+        BOXED_TYPES.put("long", "Long");
+    }
+
+    private final SqlGenerator delegate;
+    private final ExecutionModel executionModel;
+    private final String asyncExecutor;
+
+    AsyncSqlGenerator(SqlGenerator delegate, GeneratorOptions options) {
+        this.delegate = delegate;
+        this.executionModel = options.getExecutionModel();
+        this.asyncExecutor = options.getAsyncExecutor();
+    }
+
+    @Override
+    public String generateSql(PsiClass selectedClass, List<FieldWithCondition> selectedFields, SqlType sqlType, PsiClass databaseEntityClass) {
+        String blocking = delegate.generateSql(selectedClass, selectedFields, sqlType, databaseEntityClass);
+        Matcher header = METHOD_HEADER.matcher(blocking);
+        if (sqlType == SqlType.SELECT_STREAM || !header.find()) {
+            // Streams hold an open cursor and Specifications run nothing, neither has a useful async form
+            return blocking;
+        }
+        String returnType = header.group(1);
+        String methodName = header.group(2);
+        String parameterType = header.group(3);
+
+        StringBuilder java = new StringBuilder(blocking).append("\n\n");
+        // Typed as the class that receives the blocking method, the service interface does not declare it
+        PsiClass serviceClass = StatementWriter.findServiceClass(databaseEntityClass.getProject(), databaseEntityClass);
+        String serviceName = serviceClass != null ? serviceClass.getName() : databaseEntityClass.getName() + "ServiceImpl";
+        java.append("@Lazy\n");
+        java.append("@Autowired\n");
+        java.append("private ").append(serviceName).append(" self;\n\n");
+        String executor;
+        if (executionModel == ExecutionModel.VIRTUAL_THREADS) {
+            java.append("// Java 21\n");
+            java.append("private final ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();\n\n");
+            executor = "virtualThreadExecutor";
+        } else {
+            java.append("@Autowired\n");
+            java.append("private Executor ").append(asyncExecutor).append(";\n\n");
+            executor = asyncExecutor;
+        }
+        java.append("public CompletableFuture<").append(BOXED_TYPES.getOrDefault(returnType, returnType)).append("> ")
+                .append(methodName).append("Async(").append(parameterType).append(" entity) {\n");
+        java.append("    return CompletableFuture.supplyAsync(() -> self.").append(methodName).append("(entity), ")
+                .append(executor).append(");\n");
+        java.append("}");
+        return java.toString();
+    }
+}
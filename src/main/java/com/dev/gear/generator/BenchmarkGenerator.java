@@ -0,0 +1,436 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.OrmType;
+import com.dev.gear.type.SqlShapeMode;
+import com.dev.gear.type.SqlType;
+import com.dev.gear.util.JdbcTypeUtil;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a JMH benchmark for the shape of a generated statement: an in-memory H2 database in MySQL mode with
+ * a table built from the entity fields, seeded with synthetic rows, and the statement as plain JDBC with every
+ * optional predicate set. The SQL follows the options the statement was generated with: the STABLE shape's
+ * neutral predicates, the UNION rewrite, and the version check. IN list sizes, page offsets and OFFSET versus
+ * keyset pagination are JMH parameters so variants can be compared.
+ */
+public class BenchmarkGenerator {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String[] ID_ANNOTATIONS = {
+            "com.baomidou.mybatisplus.annotation.TableId",
+            "javax.persistence.Id",
+            "jakarta.persistence.Id"
+    };
+
+    private final NamingStrategyService namingStrategyService;
+    private final int rowCount;
+    private final SqlShapeMode shapeMode;
+    private final boolean rewriteAntiPatterns;
+    private final boolean dirtyFieldUpdate;
+    private final boolean optimisticLocking;
+    private final Set<String> shardKeyFields;
+
+    public BenchmarkGenerator(GeneratorOptions options) {
+        this.namingStrategyService = new NamingStrategyService(options);
+        this.rowCount = options.getBenchmarkRowCount();
+        this.shapeMode = options.getShapeMode();
+        this.rewriteAntiPatterns = options.isRewriteAntiPatterns();
+        this.dirtyFieldUpdate = options.isDirtyFieldUpdate();
+        this.optimisticLocking = options.isOptimisticLocking();
+        this.shardKeyFields = options.getShardKeyFields();
+    }
+
+    public String generate(OrmType ormType, PsiClass selectedClass, List<FieldWithCondition> selectedFields, SqlType sqlType,
+                           PsiClass databaseEntityClass) {
+        if (sqlType == SqlType.UPSERT) {
+            throw new IllegalArgumentException("UPSERT benchmarks are not supported, benchmark the INSERT and UPDATE halves instead");
+        }
+        NamingStrategyService.EntityNames entityNames = namingStrategyService.getEntityNames(databaseEntityClass);
+        String tableName = entityNames.getTableName();
+        Map<String, String> columnTypes = new HashMap<>();
+        List<String> columns = new ArrayList<>();
+        for (PsiField field : databaseEntityClass.getAllFields()) {
+            if (!field.hasModifierProperty(PsiModifier.STATIC) && !field.hasModifierProperty(PsiModifier.TRANSIENT)) {
+                String column = entityNames.getColumnName(field.getName());
+                columns.add(column);
+                columnTypes.put(column, JdbcTypeUtil.getJdbcType(field.getType().getPresentableText()));
+            }
+        }
+        boolean hasIn = selectedFields.stream().anyMatch(fwc -> fwc.getCondition().equalsIgnoreCase("in"));
+        String className = toClassName(sqlType) + databaseEntityClass.getName() + "Benchmark";
+        // The shape and the UNION rewrite are MyBatis only; JPA has no version check
+        boolean stable = ormType == OrmType.MYBATIS && shapeMode == SqlShapeMode.STABLE;
+        List<List<FieldWithCondition>> orBranches = SqlAntiPatternAnalyzer.splitOrBranches(selectedFields);
+        boolean union = ormType == OrmType.MYBATIS && rewriteAntiPatterns && sqlType == SqlType.SELECT && orBranches.size() > 1;
+        if (stable && !union && orBranches.size() > 1) {
+            throw new IllegalArgumentException("The STABLE shape cannot render OR-connected predicates; "
+                    + "use the DYNAMIC shape, or Rewrite Anti-Patterns to split a SELECT into a UNION");
+        }
+        String keyColumn = sqlType == SqlType.SELECT_PAGE ? findIntegerKeyColumn(databaseEntityClass, entityNames, columnTypes) : null;
+
+        SqlExpression sql = new SqlExpression();
+        List<String> bindings = new ArrayList<>();
+        String versionColumn = null;
+        switch (sqlType) {
+            case COUNT:
+                sql.append("SELECT COUNT(*) FROM ").append(tableName);
+                break;
+            case EXISTS:
+                sql.append("SELECT 1 FROM ").append(tableName);
+                break;
+            case UPDATE:
+                if (dirtyFieldUpdate && ormType != OrmType.JPA) {
+                    DirtyFieldUpdates.requireDirtyFields(selectedClass);
+                }
+                PsiField versionField = optimisticLocking && ormType != OrmType.JPA
+                        ? DirtyFieldUpdates.findVersionField(selectedClass, databaseEntityClass) : null;
+                versionColumn = versionField != null ? entityNames.getColumnName(versionField.getName()) : null;
+                List<String> setClauses = new ArrayList<>();
+                for (PsiField field : selectedClass.getAllFields()) {
+                    String column = entityNames.getColumnName(field.getName());
+                    if (!columnTypes.containsKey(column) || column.equals(versionColumn)) {
+                        continue;
+                    }
+                    String value = valueExpression(columnTypes.get(column));
+                    // Every field is dirty, so a dirty-field SET writes the same columns as the dynamic one
+                    if (stable && !dirtyFieldUpdate) {
+                        boolean string = field.getType().getPresentableText().equals("String");
+                        setClauses.add(column + " = COALESCE(" + (string ? "NULLIF(?, '')" : "?") + ", " + column + ")");
+                    } else {
+                        setClauses.add(column + " = ?");
+                    }
+                    bindings.add("statement.setObject(index++, " + value + ");");
+                }
+                if (setClauses.isEmpty() && versionColumn == null) {
+                    throw new IllegalArgumentException(selectedClass.getName() + " shares no columns with "
+                            + databaseEntityClass.getName() + ", the UPDATE has nothing to set");
+                }
+                if (versionColumn != null) {
+                    setClauses.add(versionColumn + " = " + versionColumn + " + 1");
+                }
+                sql.append("UPDATE ").append(tableName).append(" SET ").append(String.join(", ", setClauses));
+                break;
+            case DELETE:
+                sql.append("DELETE FROM ").append(tableName);
+                break;
+            case INSERT:
+                List<String> insertColumns = selectedFields.stream()
+                        .map(fwc -> entityNames.getColumnName(fwc.getDatabaseField()))
+                        .collect(Collectors.toList());
+                sql.append("INSERT INTO ").append(tableName).append(" (").append(String.join(", ", insertColumns))
+                        .append(") VALUES (").append(insertColumns.stream().map(column -> "?").collect(Collectors.joining(", "))).append(")");
+                for (String column : insertColumns) {
+                    bindings.add("statement.setObject(index++, " + valueExpression(columnTypes.get(column)) + ");");
+                }
+                break;
+            default:
+                String select = "SELECT " + String.join(", ", columns) + " FROM " + tableName;
+                if (union) {
+                    // UNION rather than UNION ALL, as in the rewritten mapper statement
+                    for (int i = 0; i < orBranches.size(); i++) {
+                        sql.append(i > 0 ? " UNION " : "").append(select).append(" WHERE ");
+                        appendPredicates(sql, bindings, orBranches.get(i), stable, entityNames, columnTypes);
+                    }
+                } else {
+                    sql.append(select);
+                }
+        }
+
+        boolean hasWhere = union;
+        if (sqlType != SqlType.INSERT && !union && !selectedFields.isEmpty()) {
+            sql.append(" WHERE ");
+            hasWhere = true;
+            if (versionColumn != null) {
+                // Parenthesized like the generated statement, so an OR cannot bypass the version check
+                sql.append("(");
+                appendPredicates(sql, bindings, selectedFields, stable, entityNames, columnTypes);
+                sql.append(")");
+            } else {
+                appendPredicates(sql, bindings, selectedFields, stable, entityNames, columnTypes);
+            }
+        }
+        if (versionColumn != null) {
+            sql.append(hasWhere ? " AND " : " WHERE ").append(versionColumn).append(" = ?");
+            bindings.add("statement.setObject(index++, " + valueExpression(columnTypes.get(versionColumn)) + ");");
+        }
+        if (sqlType == SqlType.EXISTS) {
+            sql.append(" LIMIT 1");
+        } else if (sqlType == SqlType.SELECT_PAGE && keyColumn != null) {
+            sql.appendCode("(KEYSET.equals(pagination) ? \"" + (hasWhere ? " AND " : " WHERE ") + keyColumn + " > ? ORDER BY "
+                    + keyColumn + " LIMIT " + PAGE_SIZE + "\" : \" ORDER BY " + keyColumn + " LIMIT " + PAGE_SIZE + " OFFSET ?\")");
+            // Keys are seeded as 0..rowCount-1, so seeking past pageOffset - 1 starts at the same position OFFSET skips to
+            bindings.add("statement.setInt(index++, KEYSET.equals(pagination) ? pageOffset - 1 : pageOffset);");
+        } else if (sqlType == SqlType.SELECT_PAGE) {
+            sql.append(" LIMIT ").append(String.valueOf(PAGE_SIZE)).append(" OFFSET ?");
+            bindings.add("statement.setInt(index++, pageOffset);");
+        }
+
+        StringBuilder java = new StringBuilder();
+        java.append("// Needs org.openjdk.jmh:jmh-core, jmh-generator-annprocess and com.h2database:h2 on the benchmark classpath\n");
+        java.append("@State(Scope.Benchmark)\n");
+        java.append("@BenchmarkMode(Mode.AverageTime)\n");
+        java.append("@OutputTimeUnit(TimeUnit.MICROSECONDS)\n");
+        java.append("@Fork(1)\n");
+        java.append("@Warmup(iterations = 3)\n");
+        java.append("@Measurement(iterations = 5)\n");
+        java.append("public class ").append(className).append(" {\n\n");
+        java.append("    @Param({\"").append(rowCount).append("\"})\n");
+        java.append("    public int rowCount;\n\n");
+        if (hasIn) {
+            java.append("    @Param({\"1\", \"10\", \"100\", \"1000\"})\n");
+            java.append("    public int inListSize;\n\n");
+        }
+        if (sqlType == SqlType.SELECT_PAGE) {
+            java.append("    @Param({\"0\", \"1000\", \"100000\"})\n");
+            java.append("    public int pageOffset;\n\n");
+            if (keyColumn != null) {
+                java.append("    private static final String KEYSET = \"KEYSET\";\n\n");
+                java.append("    @Param({\"OFFSET\", KEYSET})\n");
+                java.append("    public String pagination;\n\n");
+            } else {
+                java.append("    // No integer @TableId/@Id column to seek on, so only OFFSET pagination is measured\n\n");
+            }
+        }
+        java.append("    private final Random random = new Random(42);\n");
+        java.append("    private Connection connection;\n");
+        java.append("    private PreparedStatement statement;\n\n");
+
+        java.append("    @Setup(Level.Trial)\n");
+        java.append("    public void setUp() throws SQLException {\n");
+        java.append("        connection = DriverManager.getConnection(\"jdbc:h2:mem:").append(className)
+                .append(";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1\");\n");
+        java.append("        try (Statement ddl = connection.createStatement()) {\n");
+        java.append("            ddl.execute(\"DROP TABLE IF EXISTS ").append(tableName).append("\");\n");
+        java.append("            ddl.execute(\"CREATE TABLE ").append(tableName).append(" (")
+                .append(columns.stream()
+                        .map(column -> column + " " + ddlType(columnTypes.get(column)) + (column.equals(keyColumn) ? " PRIMARY KEY" : ""))
+                        .collect(Collectors.joining(", ")))
+                .append(")\");\n");
+        java.append("            // Create the suggested index here to compare plans with and without it\n");
+        java.append("        }\n");
+        java.append("        try (PreparedStatement insert = connection.prepareStatement(\"INSERT INTO ").append(tableName)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES (")
+                .append(columns.stream().map(column -> "?").collect(Collectors.joining(", "))).append(")\")) {\n");
+        java.append("            for (int row = 0; row < rowCount; row++) {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            java.append("                insert.setObject(").append(i + 1).append(", ")
+                    .append(columns.get(i).equals(keyColumn) ? "row" : valueExpression(columnTypes.get(columns.get(i)))).append(");\n");
+        }
+        java.append("                insert.addBatch();\n");
+        java.append("                if (row % ").append(SEED_BATCH_SIZE).append(" == ").append(SEED_BATCH_SIZE - 1).append(") {\n");
+        java.append("                    insert.executeBatch();\n");
+        java.append("                }\n");
+        java.append("            }\n");
+        java.append("            insert.executeBatch();\n");
+        java.append("        }\n");
+        java.append("        connection.setAutoCommit(false);\n");
+        java.append("        statement = connection.prepareStatement(").append(sql.toJava()).append(");\n");
+        if (sqlType == SqlType.SELECT_STREAM) {
+            java.append("        statement.setFetchSize(1000);\n");
+        }
+        java.append("    }\n\n");
+
+        java.append("    @TearDown(Level.Trial)\n");
+        java.append("    public void tearDown() throws SQLException {\n");
+        java.append("        connection.close();\n");
+        java.append("    }\n\n");
+
+        java.append("    @Benchmark\n");
+        java.append("    public int run() throws SQLException {\n");
+        java.append("        int index = 1;\n");
+        for (String binding : bindings) {
+            java.append("        ").append(binding).append("\n");
+        }
+        if (sqlType == SqlType.UPDATE || sqlType == SqlType.DELETE || sqlType == SqlType.INSERT) {
+            java.append("        int rows = statement.executeUpdate();\n");
+            java.append("        // Roll back so every invocation sees the seeded table\n");
+            java.append("        connection.rollback();\n");
+            java.append("        return rows;\n");
+        } else {
+            java.append("        int rows = 0;\n");
+            java.append("        try (ResultSet resultSet = statement.executeQuery()) {\n");
+            java.append("            while (resultSet.next()) {\n");
+            java.append("                rows++;\n");
+            java.append("            }\n");
+            java.append("        }\n");
+            java.append("        return rows;\n");
+        }
+        java.append("    }\n");
+        if (hasIn) {
+            java.append("\n    private static String placeholders(int count) {\n");
+            java.append("        return String.join(\", \", Collections.nCopies(count, \"?\"));\n");
+            java.append("    }\n");
+        }
+        java.append("}");
+        return java.toString();
+    }
+
+    /**
+     * Renders the predicates as the generated statement does with every value present. The STABLE shape keeps
+     * its neutral {@code ? IS NULL OR} terms, so the same value is bound to each of its placeholders.
+     */
+    private void appendPredicates(SqlExpression sql, List<String> bindings, List<FieldWithCondition> fields, boolean stable,
+                                  NamingStrategyService.EntityNames entityNames, Map<String, String> columnTypes) {
+        for (int i = 0; i < fields.size(); i++) {
+            FieldWithCondition fwc = fields.get(i);
+            String column = entityNames.getColumnName(fwc.getDatabaseField());
+            String value = valueExpression(columnTypes.get(column));
+            String condition = fwc.getCondition().toLowerCase();
+            if (i > 0) {
+                sql.append(" ").append(fwc.getConnection().toUpperCase()).append(" ");
+            }
+            if (condition.equals("in")) {
+                sql.append(column).append(" IN (").appendCode("placeholders(inListSize)").append(")");
+                bindings.add("for (int i = 0; i < inListSize; i++) {");
+                bindings.add("    statement.setObject(index++, " + value + ");");
+                bindings.add("}");
+                continue;
+            }
+            String predicate = column + (condition.equals("like") ? " LIKE ?" : " " + fwc.getCondition() + " ?");
+            // Named after the binding count, so the UNION branches of one statement never redeclare a variable
+            String variable = "value" + bindings.size();
+            String parameter = condition.equals("like") ? "\"%\" + " + variable + " + \"%\"" : variable;
+            bindings.add("Object " + variable + " = " + value + ";");
+            // Shard keys are never optional, so the STABLE shape renders them as plain predicates
+            if (stable && !shardKeyFields.contains(fwc.getDatabaseField())) {
+                boolean string = fwc.getField().getType().getPresentableText().equals("String");
+                sql.append("(? IS NULL OR ").append(string ? "? = '' OR " : "").append(predicate).append(")");
+                bindings.add("statement.setObject(index++, " + variable + ");");
+                if (string) {
+                    bindings.add("statement.setObject(index++, " + variable + ");");
+                }
+            } else {
+                sql.append(predicate);
+            }
+            bindings.add("statement.setObject(index++, " + parameter + ");");
+        }
+    }
+
+    /**
+     * @return the integer {@code @TableId}/{@code @Id} column, or {@code id}, that keyset pagination can seek on
+     */
+    private String findIntegerKeyColumn(PsiClass databaseEntityClass, NamingStrategyService.EntityNames entityNames,
+                                        Map<String, String> columnTypes) {
+        PsiField keyField = null;
+        for (PsiField field : databaseEntityClass.getAllFields()) {
+            for (String annotation : ID_ANNOTATIONS) {
+                if (field.hasAnnotation(annotation)) {
+                    keyField = field;
+                }
+            }
+        }
+        if (keyField == null) {
+            keyField = databaseEntityClass.findFieldByName("id", true);
+        }
+        if (keyField == null) {
+            return null;
+        }
+        String column = entityNames.getColumnName(keyField.getName());
+        String jdbcType = columnTypes.get(column);
+        return "BIGINT".equals(jdbcType) || "INTEGER".equals(jdbcType) ? column : null;
+    }
+
+    /**
+     * Java expression producing a random value for a column. Values are drawn from {@code rowCount} distinct
+     * ones, so equality predicates match about one row, as on a selective column.
+     */
+    private String valueExpression(String jdbcType) {
+        if (jdbcType == null) {
+            return "\"v\" + random.nextInt(rowCount)";
+        }
+        switch (jdbcType) {
+            case "BIGINT":
+            case "INTEGER":
+                return "random.nextInt(rowCount)";
+            case "SMALLINT":
+            case "TINYINT":
+                return "random.nextInt(100)";
+            case "BOOLEAN":
+                return "random.nextBoolean()";
+            case "DOUBLE":
+            case "FLOAT":
+                return "random.nextDouble() * rowCount";
+            case "DECIMAL":
+                return "java.math.BigDecimal.valueOf(random.nextInt(rowCount), 2)";
+            case "TIMESTAMP":
+                return "new java.sql.Timestamp(1_600_000_000_000L + random.nextInt(rowCount) * 1000L)";
+            case "DATE":
+                return "java.sql.Date.valueOf(java.time.LocalDate.ofEpochDay(18_000 + random.nextInt(3650)))";
+            case "TIME":
+                return "java.sql.Time.valueOf(java.time.LocalTime.ofSecondOfDay(random.nextInt(86_400)))";
+            case "CHAR":
+                return "String.valueOf((char) ('a' + random.nextInt(26)))";
+            case "VARBINARY":
+                return "new byte[]{(byte) random.nextInt()}";
+            default:
+                return "\"v\" + random.nextInt(rowCount)";
+        }
+    }
+
+    private String ddlType(String jdbcType) {
+        if (jdbcType == null) {
+            return "VARCHAR(255)";
+        }
+        switch (jdbcType) {
+            case "VARCHAR":
+            case "VARBINARY":
+                return jdbcType + "(255)";
+            case "CHAR":
+                return "CHAR(1)";
+            case "DECIMAL":
+                return "DECIMAL(19, 2)";
+            default:
+                return jdbcType;
+        }
+    }
+
+    private String toClassName(SqlType sqlType) {
+        return Arrays.stream(sqlType.name().toLowerCase().split("_"))
+                .map(part -> part.substring(0, 1).toUpperCase() + part.substring(1))
+                .collect(Collectors.joining());
+    }
+
+    /**
+     * SQL text as a Java string expression, mixing literal SQL with code fragments evaluated at run time.
+     */
+    private static class SqlExpression {
+        private final List<String> parts = new ArrayList<>();
+        private final StringBuilder literal = new StringBuilder();
+
+        SqlExpression append(String sql) {
+            literal.append(sql);
+            return this;
+        }
+
+        SqlExpression appendCode(String code) {
+            flushLiteral();
+            parts.add(code);
+            return this;
+        }
+
+        String toJava() {
+            flushLiteral();
+            return String.join(" + ", parts);
+        }
+
+        private void flushLiteral() {
+            if (literal.length() > 0) {
+                parts.add("\"" + literal.toString().replace("\"", "\\\"") + "\"");
+                literal.setLength(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.dev.gear.generator;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+
+/**
+ * Resolves the DTO members a change-tracking UPDATE depends on. The DTO records the names of the fields the caller
+ * changed in a {@code Set<String> dirtyFields}, so only those columns are written and unchanged columns, and the
+ * secondary indexes on them, are left alone. The optimistic version check reuses the same single statement: it
+ * bumps the version column and matches the version the DTO was loaded with, so a stale write updates no row.
+ */
+final class DirtyFieldUpdates {
+
+    static final String DIRTY_FIELDS = "dirtyFields";
+
+    private static final String[] VERSION_ANNOTATIONS = {
+            "com.baomidou.mybatisplus.annotation.Version",
+            "javax.persistence.Version",
+            "jakarta.persistence.Version"
+    };
+
+    static void requireDirtyFields(PsiClass selectedClass) {
+        if (selectedClass.findFieldByName(DIRTY_FIELDS, true) == null
+                && selectedClass.findMethodsByName("getDirtyFields", true).length == 0) {
+            throw new IllegalArgumentException(selectedClass.getName()
+                    + " has no Set<String> dirtyFields to track the changed fields in");
+        }
+    }
+
+    /**
+     * @return the version field of the entity, annotated with {@code @Version} or else named {@code version}
+     */
+    static PsiField findVersionField(PsiClass selectedClass, PsiClass databaseEntityClass) {
+        PsiField versionField = null;
+        for (PsiField field : databaseEntityClass.getAllFields()) {
+            for (String annotation : VERSION_ANNOTATIONS) {
+                if (field.hasAnnotation(annotation)) {
+                    versionField = field;
+                }
+            }
+        }
+        if (versionField == null) {
+            versionField = databaseEntityClass.findFieldByName("version", true);
+        }
+        if (versionField == null) {
+            throw new IllegalArgumentException(databaseEntityClass.getName() + " has no @Version field for the version check");
+        }
+        if (selectedClass.findFieldByName(versionField.getName(), true) == null) {
+            throw new IllegalArgumentException(selectedClass.getName() + " has no " + versionField.getName()
+                    + " field to carry the version it was loaded with");
+        }
+        return versionField;
+    }
+
+    private DirtyFieldUpdates() {
+        throw new AssertionError("DirtyFieldUpdates is a utility class and should not be instantiated");
+    }
+}
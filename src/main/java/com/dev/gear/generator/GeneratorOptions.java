@@ -0,0 +1,176 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.type.ExecutionModel;
+import com.dev.gear.type.NamingStrategy;
+import com.dev.gear.type.SqlDialect;
+import com.dev.gear.type.SqlShapeMode;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class GeneratorOptions {
+    private SqlShapeMode shapeMode = SqlShapeMode.DYNAMIC;
+    private NamingStrategy namingStrategy = NamingStrategy.SNAKE_CASE;
+    private String tablePrefix = "";
+    private SqlDialect dialect = SqlDialect.MYSQL;
+    private boolean rewriteAntiPatterns;
+    private Set<String> shardKeyFields = Collections.emptySet();
+    private boolean requireShardKey;
+    private boolean resultCaching;
+    private int cacheSize = 1024;
+    private long cacheFlushIntervalMs = 60_000;
+    private ExecutionModel executionModel = ExecutionModel.BLOCKING;
+    private String asyncExecutor = "taskExecutor";
+    private int benchmarkRowCount = 100_000;
+    private boolean dirtyFieldUpdate;
+    private boolean optimisticLocking;
+    private long slowStatementThresholdMs = 500;
+
+    public SqlShapeMode getShapeMode() {
+        return shapeMode;
+    }
+
+    public void setShapeMode(SqlShapeMode shapeMode) {
+        this.shapeMode = shapeMode;
+    }
+
+    public NamingStrategy getNamingStrategy() {
+        return namingStrategy;
+    }
+
+    public void setNamingStrategy(NamingStrategy namingStrategy) {
+        this.namingStrategy = namingStrategy;
+    }
+
+    public String getTablePrefix() {
+        return tablePrefix;
+    }
+
+    public void setTablePrefix(String tablePrefix) {
+        this.tablePrefix = tablePrefix;
+    }
+
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
+    public void setDialect(SqlDialect dialect) {
+        this.dialect = dialect;
+    }
+
+    public boolean isRewriteAntiPatterns() {
+        return rewriteAntiPatterns;
+    }
+
+    public void setRewriteAntiPatterns(boolean rewriteAntiPatterns) {
+        this.rewriteAntiPatterns = rewriteAntiPatterns;
+    }
+
+    /**
+     * Database entity fields that form the shard or partition key, in key order.
+     */
+    public Set<String> getShardKeyFields() {
+        return shardKeyFields;
+    }
+
+    public void setShardKeyFields(Collection<String> shardKeyFields) {
+        this.shardKeyFields = Collections.unmodifiableSet(new LinkedHashSet<>(shardKeyFields));
+    }
+
+    public boolean isRequireShardKey() {
+        return requireShardKey;
+    }
+
+    public void setRequireShardKey(boolean requireShardKey) {
+        this.requireShardKey = requireShardKey;
+    }
+
+    /**
+     * Spring cache annotations on MyBatis-Plus and JPA methods, a {@code <cache>} on the MyBatis mapper.
+     */
+    public boolean isResultCaching() {
+        return resultCaching;
+    }
+
+    public void setResultCaching(boolean resultCaching) {
+        this.resultCaching = resultCaching;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public long getCacheFlushIntervalMs() {
+        return cacheFlushIntervalMs;
+    }
+
+    public void setCacheFlushIntervalMs(long cacheFlushIntervalMs) {
+        this.cacheFlushIntervalMs = cacheFlushIntervalMs;
+    }
+
+    public ExecutionModel getExecutionModel() {
+        return executionModel;
+    }
+
+    public void setExecutionModel(ExecutionModel executionModel) {
+        this.executionModel = executionModel;
+    }
+
+    /**
+     * Name of the injected Executor the {@link ExecutionModel#COMPLETABLE_FUTURE} variants run on.
+     */
+    public String getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    public void setAsyncExecutor(String asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public int getBenchmarkRowCount() {
+        return benchmarkRowCount;
+    }
+
+    public void setBenchmarkRowCount(int benchmarkRowCount) {
+        this.benchmarkRowCount = benchmarkRowCount;
+    }
+
+    /**
+     * UPDATE sets only the columns named in the DTO's {@code dirtyFields} set instead of every non-null field.
+     */
+    public boolean isDirtyFieldUpdate() {
+        return dirtyFieldUpdate;
+    }
+
+    public void setDirtyFieldUpdate(boolean dirtyFieldUpdate) {
+        this.dirtyFieldUpdate = dirtyFieldUpdate;
+    }
+
+    /**
+     * UPDATE bumps the entity's version column and matches the version the DTO was loaded with.
+     */
+    public boolean isOptimisticLocking() {
+        return optimisticLocking;
+    }
+
+    public void setOptimisticLocking(boolean optimisticLocking) {
+        this.optimisticLocking = optimisticLocking;
+    }
+
+    /**
+     * Statements running at least this long are logged by the generated slow-statement monitor.
+     */
+    public long getSlowStatementThresholdMs() {
+        return slowStatementThresholdMs;
+    }
+
+    public void setSlowStatementThresholdMs(long slowStatementThresholdMs) {
+        this.slowStatementThresholdMs = slowStatementThresholdMs;
+    }
+}
@@ -0,0 +1,104 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.SqlType;
+import com.intellij.psi.PsiClass;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Suggests a composite index for the predicates of a generated statement: equality columns first, range
+ * columns last, and warnings for predicates a B-tree index cannot serve.
+ */
+public class IndexAdvisor {
+
+    private static final int MAX_INDEX_NAME_LENGTH = 64;
+
+    private final NamingStrategyService namingStrategyService;
+
+    public IndexAdvisor(GeneratorOptions options) {
+        this.namingStrategyService = new NamingStrategyService(options);
+    }
+
+    public String suggest(PsiClass databaseEntityClass, List<FieldWithCondition> selectedFields, SqlType sqlType) {
+        if (sqlType == SqlType.INSERT || sqlType == SqlType.UPSERT) {
+            return "-- " + sqlType + " has no predicates to index";
+        }
+        NamingStrategyService.EntityNames entityNames = namingStrategyService.getEntityNames(databaseEntityClass);
+
+        Set<String> equalityColumns = new LinkedHashSet<>();
+        Set<String> rangeColumns = new LinkedHashSet<>();
+        Set<String> predicateColumns = new LinkedHashSet<>();
+        List<String> warnings = new ArrayList<>();
+        boolean hasOr = false;
+        for (int i = 0; i < selectedFields.size(); i++) {
+            FieldWithCondition fwc = selectedFields.get(i);
+            String column = entityNames.getColumnName(fwc.getDatabaseField());
+            predicateColumns.add(column);
+            switch (fwc.getCondition().toLowerCase()) {
+                case "=":
+                case "in":
+                    equalityColumns.add(column);
+                    break;
+                case "<":
+                case "<=":
+                case ">":
+                case ">=":
+                    rangeColumns.add(column);
+                    break;
+                case "like":
+                    warnings.add(column + " LIKE '%...%' has a leading wildcard and cannot use an index; "
+                            + "only a prefix match (LIKE 'abc%') can");
+                    break;
+                case "!=":
+                    warnings.add(column + " != matches most rows and is left out of the index");
+                    break;
+                default:
+                    equalityColumns.add(column);
+            }
+            if (i > 0 && "OR".equalsIgnoreCase(fwc.getConnection())) {
+                hasOr = true;
+                warnings.add("OR before " + column + " prevents a single composite index from serving the whole where clause; "
+                        + "index each OR branch separately or split the query into UNION ALL branches");
+            }
+        }
+        rangeColumns.removeAll(equalityColumns);
+
+        List<String> indexColumns = new ArrayList<>(equalityColumns);
+        indexColumns.addAll(rangeColumns);
+
+        StringBuilder sql = new StringBuilder();
+        for (String warning : warnings) {
+            sql.append("-- Warning: ").append(warning).append("\n");
+        }
+        if (indexColumns.isEmpty()) {
+            sql.append("-- No indexable predicate selected");
+            return sql.toString();
+        }
+        if (rangeColumns.size() > 1) {
+            sql.append("-- Only the first range column can narrow the index scan; the others are filtered within it\n");
+        }
+        if (sqlType == SqlType.COUNT || sqlType == SqlType.EXISTS) {
+            // Rows are still read to check the predicates left out of the index, and for OR branches it cannot serve
+            if (!hasOr && indexColumns.containsAll(predicateColumns)) {
+                sql.append("-- The index covers this query: it is answered without reading table rows\n");
+            } else {
+                sql.append("-- The index does not cover this query: table rows are read to check the other predicates\n");
+            }
+        } else if (sqlType != SqlType.UPDATE && sqlType != SqlType.DELETE) {
+            sql.append("-- The select projects every entity column, so no covering index is suggested\n");
+        }
+
+        String tableName = entityNames.getTableName();
+        String indexName = "idx_" + tableName + "_" + String.join("_", indexColumns);
+        if (indexName.length() > MAX_INDEX_NAME_LENGTH) {
+            indexName = indexName.substring(0, MAX_INDEX_NAME_LENGTH);
+        }
+        sql.append("CREATE INDEX ").append(indexName).append(" ON ").append(tableName)
+                .append(" (").append(String.join(", ", indexColumns)).append(");");
+        return sql.toString();
+    }
+}
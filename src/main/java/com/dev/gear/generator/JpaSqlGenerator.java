@@ -3,13 +3,57 @@ package com.dev.gear.generator;
 import com.dev.gear.FieldWithCondition;
 import com.dev.gear.type.SqlType;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class JpaSqlGenerator implements SqlGenerator {
 
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final Set<String> shardKeyFields;
+    private final boolean resultCaching;
+
+    public JpaSqlGenerator() {
+        this(new GeneratorOptions());
+    }
+
+    public JpaSqlGenerator(GeneratorOptions options) {
+        this.shardKeyFields = options.getShardKeyFields();
+        this.resultCaching = options.isResultCaching();
+    }
+
     @Override
     public String generateSql(PsiClass selectedClass, List<FieldWithCondition> selectedFields, SqlType sqlType, PsiClass databaseEntityClass) {
+        // Specifications build predicates and run nothing, so only the query methods can be cached
+        boolean cacheable = resultCaching && sqlType != SqlType.SELECT && sqlType != SqlType.SELECT_PAGE;
+        String cacheAnnotation = cacheable
+                ? SpringCacheAnnotations.forMethod(sqlType, databaseEntityClass, selectedFields)
+                : "";
+        return cacheAnnotation + generateMethod(selectedClass, selectedFields, sqlType, databaseEntityClass);
+    }
+
+    private String generateMethod(PsiClass selectedClass, List<FieldWithCondition> selectedFields, SqlType sqlType, PsiClass databaseEntityClass) {
+        switch (sqlType) {
+            case UPDATE:
+                return generateUpdateMethod(selectedClass, selectedFields, databaseEntityClass);
+            case DELETE:
+                return generateDeleteMethod(selectedClass, selectedFields, databaseEntityClass);
+            case SELECT_STREAM:
+                return generateStreamMethod(selectedClass, selectedFields, databaseEntityClass);
+            case COUNT:
+                return generateCountMethod(selectedClass, selectedFields, databaseEntityClass);
+            case EXISTS:
+                return generateExistsMethod(selectedClass, selectedFields, databaseEntityClass);
+            default:
+                return generateSpecification(selectedClass, selectedFields, sqlType, databaseEntityClass);
+        }
+    }
+
+    private String generateSpecification(PsiClass selectedClass, List<FieldWithCondition> selectedFields, SqlType sqlType, PsiClass databaseEntityClass) {
         StringBuilder java = new StringBuilder();
         String methodName = "get" + sqlType.name().toLowerCase() + "Specification";
 
@@ -22,7 +66,7 @@ public class JpaSqlGenerator implements SqlGenerator {
                 .append("    return (root, query, cb) -> {\n")
                 .append("        List<Predicate> predicates = new ArrayList<>();\n\n");
 
-        java.append(generatePredicates(selectedFields));
+        java.append(generatePredicates(selectedFields, "        "));
 
         java.append("        return cb.and(predicates.toArray(new Predicate[0]));\n")
                 .append("    };\n")
@@ -31,11 +75,135 @@ public class JpaSqlGenerator implements SqlGenerator {
         return java.toString();
     }
 
+    private String generateUpdateMethod(PsiClass selectedClass, List<FieldWithCondition> selectedFields, PsiClass databaseEntityClass) {
+        String entityName = databaseEntityClass.getName();
+        Set<String> databaseFieldNames = Arrays.stream(databaseEntityClass.getAllFields())
+                .map(PsiField::getName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        StringBuilder java = new StringBuilder();
+        java.append("@Transactional\n")
+                .append(generateMethodHeader("int", "update" + entityName, selectedClass, selectedFields, SqlType.UPDATE))
+                .append("    CriteriaBuilder cb = entityManager.getCriteriaBuilder();\n")
+                .append("    CriteriaUpdate<").append(entityName).append("> update = cb.createCriteriaUpdate(").append(entityName).append(".class);\n")
+                .append("    Root<").append(entityName).append("> root = update.from(").append(entityName).append(".class);\n")
+                .append("    boolean hasAssignments = false;\n\n");
+
+        for (PsiField field : selectedClass.getAllFields()) {
+            String fieldName = field.getName();
+            if (databaseFieldNames.contains(fieldName)) {
+                java.append("    if (").append(generateNotEmptyCheck(fieldName, field.getType().getPresentableText())).append(") {\n")
+                        .append("        update.set(root.get(\"").append(fieldName).append("\"), entity.get").append(capitalize(fieldName)).append("());\n")
+                        .append("        hasAssignments = true;\n")
+                        .append("    }\n");
+            }
+        }
+
+        // A CriteriaUpdate without assignments fails at execution
+        java.append("    if (!hasAssignments) {\n")
+                .append("        return 0;\n")
+                .append("    }\n")
+                .append("\n    List<Predicate> predicates = new ArrayList<>();\n")
+                .append(generatePredicates(selectedFields, "    "))
+                .append("    update.where(cb.and(predicates.toArray(new Predicate[0])));\n")
+                .append(generateBulkExecution("update"))
+                .append("}");
+        return java.toString();
+    }
+
+    private String generateDeleteMethod(PsiClass selectedClass, List<FieldWithCondition> selectedFields, PsiClass databaseEntityClass) {
+        String entityName = databaseEntityClass.getName();
+
+        StringBuilder java = new StringBuilder();
+        java.append("@Transactional\n")
+                .append(generateMethodHeader("int", "delete" + entityName, selectedClass, selectedFields, SqlType.DELETE))
+                .append("    CriteriaBuilder cb = entityManager.getCriteriaBuilder();\n")
+                .append("    CriteriaDelete<").append(entityName).append("> delete = cb.createCriteriaDelete(").append(entityName).append(".class);\n")
+                .append("    Root<").append(entityName).append("> root = delete.from(").append(entityName).append(".class);\n\n")
+                .append("    List<Predicate> predicates = new ArrayList<>();\n")
+                .append(generatePredicates(selectedFields, "    "))
+                .append("    delete.where(cb.and(predicates.toArray(new Predicate[0])));\n")
+                .append(generateBulkExecution("delete"))
+                .append("}");
+        return java.toString();
+    }
+
+    private String generateBulkExecution(String query) {
+        return "    int rows = entityManager.createQuery(" + query + ").executeUpdate();\n"
+                + "    // Bulk statements bypass the persistence context, clear it so entities loaded earlier in the transaction are re-read\n"
+                + "    entityManager.clear();\n"
+                + "    return rows;\n";
+    }
+
+    private String generateStreamMethod(PsiClass selectedClass, List<FieldWithCondition> selectedFields, PsiClass databaseEntityClass) {
+        String entityName = databaseEntityClass.getName();
+
+        StringBuilder java = new StringBuilder();
+        java.append("// The returned stream holds an open cursor: consume it inside the transaction and close it (try-with-resources)\n")
+                .append("@Transactional(readOnly = true)\n")
+                .append(generateMethodHeader("Stream<" + entityName + ">", "stream" + entityName, selectedClass, selectedFields, SqlType.SELECT_STREAM))
+                .append("    CriteriaBuilder cb = entityManager.getCriteriaBuilder();\n")
+                .append("    CriteriaQuery<").append(entityName).append("> query = cb.createQuery(").append(entityName).append(".class);\n")
+                .append("    Root<").append(entityName).append("> root = query.from(").append(entityName).append(".class);\n\n")
+                .append("    List<Predicate> predicates = new ArrayList<>();\n")
+                .append(generatePredicates(selectedFields, "    "))
+                .append("    query.select(root).where(cb.and(predicates.toArray(new Predicate[0])));\n")
+                .append("    return entityManager.createQuery(query)\n")
+                .append("            .setHint(QueryHints.HINT_FETCH_SIZE, ").append(STREAM_FETCH_SIZE).append(")\n")
+                .append("            .setHint(QueryHints.HINT_READONLY, true)\n")
+                .append("            .getResultStream();\n")
+                .append("}");
+        return java.toString();
+    }
+
+    private String generateCountMethod(PsiClass selectedClass, List<FieldWithCondition> selectedFields, PsiClass databaseEntityClass) {
+        String entityName = databaseEntityClass.getName();
+
+        StringBuilder java = new StringBuilder();
+        java.append(generateMethodHeader("long", "count" + entityName, selectedClass, selectedFields, SqlType.COUNT))
+                .append("    CriteriaBuilder cb = entityManager.getCriteriaBuilder();\n")
+                .append("    CriteriaQuery<Long> query = cb.createQuery(Long.class);\n")
+                .append("    Root<").append(entityName).append("> root = query.from(").append(entityName).append(".class);\n\n")
+                .append("    List<Predicate> predicates = new ArrayList<>();\n")
+                .append(generatePredicates(selectedFields, "    "))
+                .append("    query.select(cb.count(root)).where(cb.and(predicates.toArray(new Predicate[0])));\n")
+                .append("    return entityManager.createQuery(query).getSingleResult();\n")
+                .append("}");
+        return java.toString();
+    }
+
+    private String generateExistsMethod(PsiClass selectedClass, List<FieldWithCondition> selectedFields, PsiClass databaseEntityClass) {
+        String entityName = databaseEntityClass.getName();
+
+        StringBuilder java = new StringBuilder();
+        java.append(generateMethodHeader("boolean", "exists" + entityName, selectedClass, selectedFields, SqlType.EXISTS))
+                .append("    CriteriaBuilder cb = entityManager.getCriteriaBuilder();\n")
+                .append("    CriteriaQuery<Integer> query = cb.createQuery(Integer.class);\n")
+                .append("    Root<").append(entityName).append("> root = query.from(").append(entityName).append(".class);\n\n")
+                .append("    List<Predicate> predicates = new ArrayList<>();\n")
+                .append(generatePredicates(selectedFields, "    "))
+                .append("    query.select(cb.literal(1)).where(cb.and(predicates.toArray(new Predicate[0])));\n")
+                .append("    return !entityManager.createQuery(query).setMaxResults(1).getResultList().isEmpty();\n")
+                .append("}");
+        return java.toString();
+    }
+
+    private String generateMethodHeader(String returnType, String methodName, PsiClass selectedClass, List<FieldWithCondition> selectedFields, SqlType sqlType) {
+        return "public " + returnType + " " + methodName + "(" + selectedClass.getName() + " entity) {\n" +
+                "    if (entity == null) {\n" +
+                "        throw new IllegalArgumentException(\"Entity must not be null\");\n" +
+                "    }\n" +
+                generateValidations(selectedFields, sqlType);
+    }
+
     private String generateValidations(List<FieldWithCondition> selectedFields, SqlType sqlType) {
         StringBuilder validations = new StringBuilder();
         switch (sqlType) {
             case SELECT:
             case SELECT_PAGE:
+            case SELECT_STREAM:
+            case COUNT:
+            case EXISTS:
                 validations.append(generateSelectValidation(selectedFields, sqlType));
                 break;
             case UPDATE:
@@ -48,7 +216,7 @@ public class JpaSqlGenerator implements SqlGenerator {
     }
 
     private String generateSelectValidation(List<FieldWithCondition> selectedFields, SqlType sqlType) {
-        if (SqlType.SELECT_PAGE == sqlType) {
+        if (SqlType.SELECT_PAGE == sqlType || SqlType.SELECT_STREAM == sqlType) {
             return "";
         }
         StringBuilder validation = new StringBuilder("    if (");
@@ -107,31 +275,41 @@ public class JpaSqlGenerator implements SqlGenerator {
         return validation.toString();
     }
 
-    private String generatePredicates(List<FieldWithCondition> selectedFields) {
+    private String generatePredicates(List<FieldWithCondition> selectedFields, String indent) {
         StringBuilder predicates = new StringBuilder();
         for (FieldWithCondition fwc : selectedFields) {
             String fieldName = fwc.getField().getName();
             String condition = fwc.getCondition();
             String typeName = fwc.getField().getType().getPresentableText();
 
-            predicates.append("        if (");
-
-            // Add type-specific validation
-            if (typeName.equals("String")) {
-                predicates.append("StringUtils.isNotEmpty(entity.get").append(capitalize(fieldName)).append("())");
-            } else if (typeName.contains("List") || typeName.contains("Set") || typeName.contains("Collection")) {
-                predicates.append("CollectionUtils.isNotEmpty(entity.get").append(capitalize(fieldName)).append("())");
-            } else {
-                predicates.append("entity.get").append(capitalize(fieldName)).append("() != null");
+            String predicate = "predicates.add(" + getJpaPredicateMethod(condition, "root", fieldName, typeName) + ");\n";
+            if (shardKeyFields.contains(fwc.getDatabaseField())) {
+                // Shard keys are never optional: a missing value throws rather than widening the query to every shard
+                predicates.append(indent).append("if (entity.get").append(capitalize(fieldName)).append("() == null) {\n")
+                        .append(indent).append("    throw new IllegalArgumentException(\"Shard key ")
+                        .append(fieldName).append(" must not be null\");\n")
+                        .append(indent).append("}\n");
+                predicates.append(indent).append(predicate);
+                continue;
             }
-
-            predicates.append(") {\n")
-                    .append("            predicates.add(").append(getJpaPredicateMethod(condition, "root", fieldName, typeName)).append(");\n")
-                    .append("        }\n");
+            predicates.append(indent).append("if (")
+                    .append(generateNotEmptyCheck(fieldName, typeName))
+                    .append(") {\n")
+                    .append(indent).append("    ").append(predicate)
+                    .append(indent).append("}\n");
         }
         return predicates.toString();
     }
 
+    private String generateNotEmptyCheck(String fieldName, String typeName) {
+        if (typeName.equals("String")) {
+            return "StringUtils.isNotEmpty(entity.get" + capitalize(fieldName) + "())";
+        } else if (typeName.contains("List") || typeName.contains("Set") || typeName.contains("Collection")) {
+            return "CollectionUtils.isNotEmpty(entity.get" + capitalize(fieldName) + "())";
+        }
+        return "entity.get" + capitalize(fieldName) + "() != null";
+    }
+
 
     private String getJpaPredicateMethod(String condition, String root, String fieldName, String typeName) {
         switch (condition.toLowerCase()) {
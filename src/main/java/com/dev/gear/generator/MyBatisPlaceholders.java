@@ -0,0 +1,40 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.util.JdbcTypeUtil;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiType;
+
+/**
+ * Renders MyBatis {@code #{}} placeholders with the jdbcType of the parameter's Java type, which MyBatis needs to
+ * bind a null. The type handler is still chosen by the Java type, so a jdbcType cannot convert a parameter to the
+ * type of its column; such mismatches are reported as warnings instead.
+ */
+final class MyBatisPlaceholders {
+
+    /**
+     * @param property      the parameter property, e.g. {@code name} or {@code item} inside a foreach
+     * @param parameterType the Java type of the parameter, or of the collection holding it
+     */
+    static String placeholder(String property, PsiType parameterType) {
+        String jdbcType = JdbcTypeUtil.getJdbcType(elementTypeName(parameterType));
+        return jdbcType != null ? "#{" + property + ",jdbcType=" + jdbcType + "}" : "#{" + property + "}";
+    }
+
+    /**
+     * @return the presentable element type of a single-parameter generic such as {@code List<Long>}, otherwise
+     * the presentable type itself
+     */
+    static String elementTypeName(PsiType type) {
+        if (type instanceof PsiClassType) {
+            PsiType[] parameters = ((PsiClassType) type).getParameters();
+            if (parameters.length == 1) {
+                return parameters[0].getPresentableText();
+            }
+        }
+        return type.getPresentableText();
+    }
+
+    private MyBatisPlaceholders() {
+        throw new AssertionError("MyBatisPlaceholders is a utility class and should not be instantiated");
+    }
+}
@@ -1,24 +1,56 @@
 package com.dev.gear.generator;
 
 import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.SqlDialect;
 import com.dev.gear.type.SqlType;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiField;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 public class MyBatisPlusSqlGenerator implements SqlGenerator {
 
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final SqlDialect dialect;
+    private final NamingStrategyService namingStrategyService;
+    private final Set<String> shardKeyFields;
+    private final boolean resultCaching;
+    private final boolean dirtyFieldUpdate;
+    private final boolean optimisticLocking;
+
+    public MyBatisPlusSqlGenerator() {
+        this(new GeneratorOptions());
+    }
+
+    public MyBatisPlusSqlGenerator(GeneratorOptions options) {
+        this.dialect = options.getDialect();
+        this.namingStrategyService = new NamingStrategyService(options);
+        this.shardKeyFields = options.getShardKeyFields();
+        this.resultCaching = options.isResultCaching();
+        this.dirtyFieldUpdate = options.isDirtyFieldUpdate();
+        this.optimisticLocking = options.isOptimisticLocking();
+    }
+
     @Override
     public String generateSql(PsiClass selectedClass, List<FieldWithCondition> selectedFields, SqlType sqlType, PsiClass databaseEntityClass) {
         StringBuilder java = new StringBuilder();
         String methodName = sqlType.name().toLowerCase() + databaseEntityClass.getName();
         Set<String> databaseFieldNames = Arrays.stream(databaseEntityClass.getAllFields())
                 .map(PsiField::getName)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        String cacheAnnotation = resultCaching
+                ? SpringCacheAnnotations.forMethod(sqlType, databaseEntityClass, selectedFields)
+                : "";
+        if (sqlType == SqlType.UPSERT) {
+            return generateUpsertMethods(methodName, selectedClass, databaseEntityClass, selectedFields, cacheAnnotation);
+        }
 
+        java.append(cacheAnnotation);
         java.append("public ");
 
         switch (sqlType) {
@@ -35,6 +67,15 @@ public class MyBatisPlusSqlGenerator implements SqlGenerator {
             case INSERT:
                 java.append(generateInsertMethod(methodName, selectedClass, selectedFields));
                 break;
+            case SELECT_STREAM:
+                java.append(generateStreamMethods(methodName, selectedClass, databaseEntityClass, selectedFields));
+                break;
+            case COUNT:
+                java.append(generateCountMethod(methodName, selectedClass, databaseEntityClass, selectedFields));
+                break;
+            case EXISTS:
+                java.append(generateExistsMethod(methodName, selectedClass, databaseEntityClass, selectedFields));
+                break;
         }
 
         return java.toString();
@@ -59,6 +100,102 @@ public class MyBatisPlusSqlGenerator implements SqlGenerator {
         return method.toString();
     }
 
+    /**
+     * MyBatis-Plus has no insert-or-update wrapper, so the statement goes into a custom mapper method that the
+     * service method delegates to.
+     */
+    private String generateUpsertMethods(String methodName, PsiClass selectedClass, PsiClass databaseEntityClass,
+                                         List<FieldWithCondition> selectedFields, String cacheAnnotation) {
+        NamingStrategyService.EntityNames entityNames = namingStrategyService.getEntityNames(databaseEntityClass);
+        List<String> sqlLines = new UpsertSqlBuilder(dialect, entityNames).build(databaseEntityClass, selectedFields);
+
+        StringBuilder java = new StringBuilder();
+        java.append("// ").append(databaseEntityClass.getName()).append("Mapper\n");
+        java.append("@Insert({\n");
+        List<String> annotationLines = Arrays.stream(String.join("\n", sqlLines).split("\n"))
+                .map(line -> "        \"" + line + "\"")
+                .collect(Collectors.toList());
+        java.append(String.join(",\n", annotationLines)).append("\n");
+        java.append("})\n");
+        java.append("int ").append(methodName).append("(").append(selectedClass.getName()).append(" entity);\n\n");
+
+        java.append("// Service\n");
+        java.append(cacheAnnotation);
+        java.append("public boolean ").append(methodName).append("(").append(selectedClass.getName()).append(" entity) {\n");
+        java.append("    if (entity == null) {\n");
+        java.append("        throw new IllegalArgumentException(\"Entity must not be null\");\n");
+        java.append("    }\n");
+        java.append(generateFieldValidations(selectedFields, SqlType.UPSERT));
+        java.append("    return this.getBaseMapper().").append(methodName).append("(entity) > 0;\n");
+        java.append("}");
+        return java.toString();
+    }
+
+    /**
+     * BaseMapper.selectList with a handler still lets the driver buffer the whole result, so the rows are streamed
+     * through a custom mapper method with a forward-only result set and a streaming fetch size.
+     */
+    private String generateStreamMethods(String methodName, PsiClass selectedClass, PsiClass databaseEntityClass,
+                                         List<FieldWithCondition> selectedFields) {
+        String entityName = databaseEntityClass.getName();
+        String tableName = namingStrategyService.getEntityNames(databaseEntityClass).getTableName();
+        StringBuilder java = new StringBuilder();
+        java.append("// ").append(entityName).append("Mapper\n");
+        java.append("@Select(\"SELECT * FROM ").append(tableName).append(" ${ew.customSqlSegment}\")\n");
+        java.append("@ResultType(").append(entityName).append(".class)\n");
+        if (dialect == SqlDialect.MYSQL) {
+            // Connector/J streams row by row only for this fetch size, any other value is buffered without useCursorFetch=true
+            java.append("@Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)\n");
+        } else {
+            java.append("@Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = ").append(STREAM_FETCH_SIZE).append(")\n");
+        }
+        java.append("void ").append(methodName).append("(@Param(Constants.WRAPPER) Wrapper<").append(entityName)
+                .append("> wrapper, ResultHandler<").append(entityName).append("> handler);\n\n");
+
+        java.append("// Service\n");
+        java.append("void ").append(methodName).append("(").append(selectedClass.getName()).append(" entity, ")
+                .append("ResultHandler<").append(entityName).append("> handler) {\n");
+        java.append("    if (entity == null) {\n");
+        java.append("        throw new IllegalArgumentException(\"Entity must not be null\");\n");
+        java.append("    }\n");
+        java.append("    // Rows are passed to the handler one by one instead of being collected into a List\n");
+        java.append("    this.getBaseMapper().").append(methodName).append("(this.lambdaQuery()\n");
+        java.append(generateMybatisPlusWhereClause(selectedFields, databaseEntityClass));
+        java.append("        .getWrapper(), handler);\n");
+        java.append("}");
+        return java.toString();
+    }
+
+    private String generateCountMethod(String methodName, PsiClass selectedClass, PsiClass databaseEntityClass,
+                                       List<FieldWithCondition> selectedFields) {
+        StringBuilder method = new StringBuilder();
+        method.append("long ").append(methodName).append("(").append(selectedClass.getName()).append(" entity) {\n");
+        method.append("    if (entity == null) {\n");
+        method.append("        throw new IllegalArgumentException(\"Entity must not be null\");\n");
+        method.append("    }\n");
+        method.append(generateFieldValidations(selectedFields, SqlType.COUNT));
+        method.append("    return this.lambdaQuery()\n");
+        method.append(generateMybatisPlusWhereClause(selectedFields, databaseEntityClass));
+        method.append("        .count();\n");
+        method.append("}");
+        return method.toString();
+    }
+
+    private String generateExistsMethod(String methodName, PsiClass selectedClass, PsiClass databaseEntityClass,
+                                        List<FieldWithCondition> selectedFields) {
+        StringBuilder method = new StringBuilder();
+        method.append("boolean ").append(methodName).append("(").append(selectedClass.getName()).append(" entity) {\n");
+        method.append("    if (entity == null) {\n");
+        method.append("        throw new IllegalArgumentException(\"Entity must not be null\");\n");
+        method.append("    }\n");
+        method.append(generateFieldValidations(selectedFields, SqlType.EXISTS));
+        method.append("    return this.lambdaQuery()\n");
+        method.append(generateMybatisPlusWhereClause(selectedFields, databaseEntityClass));
+        method.append("        .exists();\n");
+        method.append("}");
+        return method.toString();
+    }
+
     private String generateUpdateMethod(String methodName, PsiClass selectedClass, PsiClass databaseEntityClass,
                                         Set<String> databaseFieldNames, List<FieldWithCondition> selectedFields) {
         StringBuilder method = new StringBuilder();
@@ -67,20 +204,51 @@ public class MyBatisPlusSqlGenerator implements SqlGenerator {
         method.append("        throw new IllegalArgumentException(\"Entity must not be null\");\n");
         method.append("    }\n");
         method.append(generateFieldValidations(selectedFields, SqlType.UPDATE));
+        if (dirtyFieldUpdate) {
+            DirtyFieldUpdates.requireDirtyFields(selectedClass);
+            method.append("    if (entity.getDirtyFields().isEmpty()) {\n");
+            method.append("        return false;\n");
+            method.append("    }\n");
+        }
+        PsiField versionField = optimisticLocking ? DirtyFieldUpdates.findVersionField(selectedClass, databaseEntityClass) : null;
+        if (versionField != null) {
+            method.append("    // false when the row was changed since it was loaded; raise an optimistic lock failure then\n");
+        }
         method.append("    return this.lambdaUpdate()\n");
 
         for (PsiField field : selectedClass.getAllFields()) {
             String fieldName = field.getName();
             String typeName = field.getType().getPresentableText();
+            if (versionField != null && fieldName.equals(versionField.getName())) {
+                continue;
+            }
             if (databaseFieldNames.contains(fieldName)) {
                 method.append("        .set(");
-                method.append(generateSetCondition(fieldName, typeName));
+                method.append(dirtyFieldUpdate
+                        ? "entity.getDirtyFields().contains(\"" + fieldName + "\")"
+                        : generateSetCondition(fieldName, typeName));
                 method.append(", ")
                         .append(databaseEntityClass.getName()).append("::get").append(capitalize(fieldName))
                         .append(", entity.get").append(capitalize(fieldName)).append("())\n");
             }
         }
-        method.append(generateMybatisPlusWhereClause(selectedFields, databaseEntityClass));
+        if (versionField != null) {
+            String versionName = versionField.getName();
+            String versionColumn = namingStrategyService.getEntityNames(databaseEntityClass).getColumnName(versionName);
+            method.append("        .setSql(\"").append(versionColumn).append(" = ").append(versionColumn).append(" + 1\")\n");
+        }
+        String whereClause = generateMybatisPlusWhereClause(selectedFields, databaseEntityClass);
+        if (versionField != null && !whereClause.isEmpty()) {
+            // Nested so an OR among the user predicates cannot bypass the version check
+            String nested = whereClause.replaceAll("(?m)^(?=.)", "    ");
+            method.append("        .and(w -> w\n").append(nested, 0, nested.length() - 1).append(")\n");
+        } else {
+            method.append(whereClause);
+        }
+        if (versionField != null) {
+            method.append("        .eq(").append(databaseEntityClass.getName()).append("::get").append(capitalize(versionField.getName()))
+                    .append(", entity.get").append(capitalize(versionField.getName())).append("())\n");
+        }
         method.append("        .update(new ").append(databaseEntityClass.getName()).append("());\n");
         method.append("}");
         return method.toString();
@@ -115,7 +283,8 @@ public class MyBatisPlusSqlGenerator implements SqlGenerator {
 
     private String generateFieldValidations(List<FieldWithCondition> selectedFields, SqlType sqlType) {
         StringBuilder validations = new StringBuilder();
-        if (!sqlType.equals(SqlType.SELECT) && !sqlType.equals(SqlType.SELECT_PAGE)) {
+        if (!sqlType.equals(SqlType.SELECT) && !sqlType.equals(SqlType.SELECT_PAGE)
+                && !sqlType.equals(SqlType.COUNT) && !sqlType.equals(SqlType.EXISTS)) {
             for (FieldWithCondition fwc : selectedFields) {
                 validations.append(generateFieldValidation(fwc));
             }
@@ -181,14 +350,21 @@ public class MyBatisPlusSqlGenerator implements SqlGenerator {
             }
 
             whereClause.append("        .").append(getConditionMethod(condition)).append("(");
-            whereClause.append(generateFieldCondition(fieldName, typeName));
-            whereClause.append(", ")
-                    .append(databaseEntityClass.getName())
+            // Shard keys are never optional: a missing value throws rather than widening the query to every shard
+            boolean shardKey = shardKeyFields.contains(fwc.getDatabaseField());
+            if (!shardKey) {
+                whereClause.append(generateFieldCondition(fieldName, typeName)).append(", ");
+            }
+            whereClause.append(databaseEntityClass.getName())
                     .append("::get")
                     .append(capitalize(fwc.getDatabaseField()))
-                    .append(", entity.get")
-                    .append(capitalize(fieldName))
-                    .append("())\n");
+                    .append(", ");
+            if (shardKey) {
+                whereClause.append("Objects.requireNonNull(entity.get").append(capitalize(fieldName))
+                        .append("(), \"Shard key ").append(fieldName).append(" must not be null\"))\n");
+            } else {
+                whereClause.append("entity.get").append(capitalize(fieldName)).append("())\n");
+            }
         }
         return whereClause.toString();
     }
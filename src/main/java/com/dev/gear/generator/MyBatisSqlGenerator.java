@@ -1,35 +1,84 @@
 package com.dev.gear.generator;
 
 import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.SqlDialect;
+import com.dev.gear.type.SqlShapeMode;
 import com.dev.gear.type.SqlType;
+import com.dev.gear.util.JdbcTypeUtil;
+import com.dev.gear.util.MapperXmlUtil;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.xml.XmlFile;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 public class MyBatisSqlGenerator implements SqlGenerator {
 
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final SqlShapeMode shapeMode;
+    private final SqlDialect dialect;
+    private final boolean rewriteAntiPatterns;
+    private final Set<String> shardKeyFields;
+    private final boolean resultCaching;
+    private final int cacheSize;
+    private final long cacheFlushIntervalMs;
+    private final boolean dirtyFieldUpdate;
+    private final boolean optimisticLocking;
+    private final NamingStrategyService namingStrategyService;
+    // Names of the entity of the statement being generated, resolved once per generateSql call
+    private NamingStrategyService.EntityNames entityNames;
+
+    public MyBatisSqlGenerator() {
+        this(new GeneratorOptions());
+    }
+
+    public MyBatisSqlGenerator(GeneratorOptions options) {
+        this.shapeMode = options.getShapeMode();
+        this.dialect = options.getDialect();
+        this.rewriteAntiPatterns = options.isRewriteAntiPatterns();
+        this.shardKeyFields = options.getShardKeyFields();
+        this.resultCaching = options.isResultCaching();
+        this.cacheSize = options.getCacheSize();
+        this.cacheFlushIntervalMs = options.getCacheFlushIntervalMs();
+        this.dirtyFieldUpdate = options.isDirtyFieldUpdate();
+        this.optimisticLocking = options.isOptimisticLocking();
+        this.namingStrategyService = new NamingStrategyService(options);
+    }
+
     @Override
     public String generateSql(PsiClass selectedClass, List<FieldWithCondition> selectedFields, SqlType sqlType, PsiClass databaseEntityClass) {
-        String tableName = camelToSnakeCase(databaseEntityClass.getName());
+        entityNames = namingStrategyService.getEntityNames(databaseEntityClass);
+        String tableName = entityNames.getTableName();
         Set<String> databaseFieldNames = Arrays.stream(databaseEntityClass.getAllFields())
                 .map(PsiField::getName)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
 
         StringBuilder xml = new StringBuilder();
         String methodName = sqlType.name().toLowerCase() + selectedClass.getName();
+        xml.append(generateShapeComment(selectedClass, selectedFields, sqlType, databaseFieldNames));
+        if (resultCaching) {
+            xml.append(generateCacheConfig(databaseEntityClass));
+        }
+        if (sqlType != SqlType.INSERT && sqlType != SqlType.UPSERT) {
+            xml.append(generateTypeMismatchWarnings(selectedFields));
+        }
 
         switch (sqlType) {
             case SELECT:
             case SELECT_PAGE:
-                xml.append(generateSelectSql(methodName, databaseEntityClass, tableName, databaseFieldNames, selectedFields, sqlType));
+            case SELECT_STREAM:
+                xml.append(generateSelectSql(methodName, databaseEntityClass, tableName, selectedFields, sqlType));
                 break;
             case UPDATE:
-                xml.append(generateUpdateSql(methodName, selectedClass, tableName, databaseFieldNames, selectedFields));
+                xml.append(generateUpdateSql(methodName, selectedClass, databaseEntityClass, tableName, databaseFieldNames, selectedFields));
                 break;
             case DELETE:
                 xml.append(generateDeleteSql(methodName, tableName, selectedFields));
@@ -37,29 +86,259 @@ public class MyBatisSqlGenerator implements SqlGenerator {
             case INSERT:
                 xml.append(generateInsertSql(methodName, tableName, selectedFields));
                 break;
+            case UPSERT:
+                xml.append(generateUpsertSql(methodName, databaseEntityClass, selectedFields));
+                break;
+            case COUNT:
+                xml.append(generateCountSql(methodName, tableName, selectedFields));
+                break;
+            case EXISTS:
+                xml.append(generateExistsSql(methodName, tableName, selectedFields));
+                break;
         }
 
         return xml.toString();
     }
 
-    private String generateSelectSql(String methodName, PsiClass databaseEntityClass, String tableName, 
-                                     Set<String> databaseFieldNames, List<FieldWithCondition> selectedFields, SqlType sqlType) {
+    /**
+     * Flags predicates whose parameter type belongs to a different type family than the column, e.g. a Long
+     * compared with a VARCHAR column: the database converts every column value and cannot seek its index.
+     */
+    private String generateTypeMismatchWarnings(List<FieldWithCondition> selectedFields) {
+        StringBuilder warnings = new StringBuilder();
+        for (FieldWithCondition fwc : selectedFields) {
+            String parameterTypeName = MyBatisPlaceholders.elementTypeName(fwc.field.getType());
+            String parameterJdbcType = JdbcTypeUtil.getJdbcType(parameterTypeName);
+            String columnJdbcType = entityNames.getColumnJdbcType(fwc.databaseField);
+            if (JdbcTypeUtil.isImplicitConversion(parameterJdbcType, columnJdbcType)) {
+                warnings.append("<!-- Warning: ").append(fwc.field.getName()).append(" is ").append(parameterTypeName)
+                        .append(" but column ").append(columnName(fwc.databaseField)).append(" is ").append(columnJdbcType)
+                        .append(", the implicit conversion disables its index; change the field type to match -->\n");
+            }
+        }
+        return warnings.toString();
+    }
+
+    private String generateShapeComment(PsiClass selectedClass, List<FieldWithCondition> selectedFields,
+                                        SqlType sqlType, Set<String> databaseFieldNames) {
+        boolean hasInCondition = selectedFields.stream().anyMatch(fwc -> fwc.condition.equalsIgnoreCase("in"));
+        StringBuilder comment = new StringBuilder("<!-- Shape: ").append(shapeMode)
+                .append(", up to ").append(estimateDistinctStatementTexts(selectedClass, selectedFields, sqlType, databaseFieldNames))
+                .append(" distinct SQL texts");
+        if (hasInCondition) {
+            comment.append(" per IN list size");
+        }
+        comment.append(" -->\n");
+        return comment.toString();
+    }
+
+    /**
+     * Upper bound of distinct SQL texts the generated statement can render at runtime, which is also the
+     * number of prepared-statement and plan cache entries it can occupy. Each {@code <if>} doubles it.
+     */
+    public String estimateDistinctStatementTexts(PsiClass selectedClass, List<FieldWithCondition> selectedFields,
+                                                 SqlType sqlType, Set<String> databaseFieldNames) {
+        int branches;
+        boolean hasGuard = sqlType != SqlType.SELECT_PAGE && sqlType != SqlType.SELECT_STREAM && sqlType != SqlType.INSERT
+                && sqlType != SqlType.UPSERT && !selectedFields.isEmpty();
+        if (sqlType == SqlType.UPSERT) {
+            branches = 0;
+        } else if (shapeMode == SqlShapeMode.STABLE) {
+            branches = (int) selectedFields.stream().filter(fwc -> fwc.condition.equalsIgnoreCase("in")).count();
+            if (sqlType == SqlType.INSERT) {
+                branches = 0;
+            } else if (sqlType == SqlType.UPDATE && dirtyFieldUpdate) {
+                // Dirty-field SET columns stay <if> branches in the stable shape
+                branches += countSetFields(selectedClass, databaseFieldNames);
+            }
+        } else {
+            branches = selectedFields.size();
+            if (sqlType == SqlType.UPDATE) {
+                branches += countSetFields(selectedClass, databaseFieldNames);
+            }
+        }
+        if (branches >= Long.SIZE - 1) {
+            return "2^" + branches;
+        }
+        // In stable mode the all-empty guard renders one extra text; in dynamic mode it replaces the all-empty case
+        long texts = (1L << branches) + (shapeMode == SqlShapeMode.STABLE && hasGuard ? 1 : 0);
+        return String.valueOf(texts);
+    }
+
+    private static int countSetFields(PsiClass selectedClass, Set<String> databaseFieldNames) {
+        return (int) Arrays.stream(selectedClass.getAllFields())
+                .filter(field -> databaseFieldNames.contains(field.getName()))
+                .count();
+    }
+
+    private String generateSelectSql(String methodName, PsiClass databaseEntityClass, String tableName,
+                                     List<FieldWithCondition> selectedFields, SqlType sqlType) {
         StringBuilder xml = new StringBuilder();
+        List<PsiField> columnFields = getColumnFields(databaseEntityClass);
+        XmlFile mapper = MapperXmlUtil.findTargetMapper(databaseEntityClass.getProject(), databaseEntityClass);
+
+        String resultMapId = mapper != null ? MapperXmlUtil.findResultMapId(mapper, databaseEntityClass.getQualifiedName()) : null;
+        if (resultMapId == null) {
+            resultMapId = MapperXmlUtil.BASE_RESULT_MAP;
+            xml.append(generateResultMap(resultMapId, databaseEntityClass, columnFields)).append("\n\n");
+        }
+        if (mapper == null || !MapperXmlUtil.hasSqlFragment(mapper, MapperXmlUtil.BASE_COLUMN_LIST)) {
+            xml.append(generateBaseColumnList(columnFields)).append("\n\n");
+        }
+
+        if (sqlType == SqlType.SELECT_STREAM) {
+            xml.append("<!-- Map to Cursor<").append(databaseEntityClass.getName())
+                    .append("> and iterate inside a transaction; MySQL needs useCursorFetch=true for fetchSize to stream -->\n");
+        }
         xml.append("<select id=\"").append(methodName).append("\" ");
-        xml.append("resultType=\"").append(databaseEntityClass.getQualifiedName()).append("\">\n");
-        xml.append("    SELECT ");
-        xml.append(String.join(", ", databaseFieldNames));
+        xml.append("resultMap=\"").append(resultMapId).append("\"");
+        if (sqlType == SqlType.SELECT_STREAM) {
+            xml.append(" fetchSize=\"").append(STREAM_FETCH_SIZE).append("\" resultSetType=\"FORWARD_ONLY\"");
+            if (resultCaching) {
+                xml.append(" useCache=\"false\"");
+            }
+        } else if (resultCaching) {
+            xml.append(" useCache=\"true\"");
+        }
+        xml.append(">\n");
+        List<List<FieldWithCondition>> orBranches = SqlAntiPatternAnalyzer.splitOrBranches(selectedFields);
+        if (rewriteAntiPatterns && sqlType == SqlType.SELECT && orBranches.size() > 1) {
+            // UNION rather than UNION ALL: a row matching several branches is returned once, as it is with OR.
+            // Each branch keeps the all-empty guard, so an absent branch contributes no rows instead of all of them.
+            for (int i = 0; i < orBranches.size(); i++) {
+                if (i > 0) {
+                    xml.append("    UNION\n");
+                }
+                xml.append(generateSelectBranch(tableName, orBranches.get(i), sqlType));
+            }
+        } else {
+            xml.append(generateSelectBranch(tableName, selectedFields, sqlType));
+        }
+        xml.append("</select>");
+        return xml.toString();
+    }
+
+    private String generateSelectBranch(String tableName, List<FieldWithCondition> selectedFields, SqlType sqlType) {
+        StringBuilder xml = new StringBuilder();
+        xml.append("    SELECT <include refid=\"").append(MapperXmlUtil.BASE_COLUMN_LIST).append("\"/>");
         xml.append("\n    FROM ").append(tableName);
         xml.append("\n    <where>\n");
         xml.append(generateWhereClause(selectedFields, sqlType));
         xml.append("    </where>\n");
+        return xml.toString();
+    }
+
+    /**
+     * Declares the second-level cache of the mapper namespace unless the mapper already has a cache or
+     * cache-ref. Statements of the namespace flush it on every insert, update and delete by default.
+     */
+    private String generateCacheConfig(PsiClass databaseEntityClass) {
+        XmlFile mapper = MapperXmlUtil.findTargetMapper(databaseEntityClass.getProject(), databaseEntityClass);
+        if (mapper != null && MapperXmlUtil.hasCache(mapper)) {
+            return "";
+        }
+        return "<cache eviction=\"LRU\" size=\"" + cacheSize + "\" flushInterval=\"" + cacheFlushIntervalMs + "\"/>\n\n";
+    }
+
+    private String generateResultMap(String resultMapId, PsiClass databaseEntityClass, List<PsiField> columnFields) {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<resultMap id=\"").append(resultMapId).append("\" type=\"").append(databaseEntityClass.getQualifiedName()).append("\">\n");
+        for (PsiField field : columnFields) {
+            boolean isId = field.hasAnnotation("com.baomidou.mybatisplus.annotation.TableId")
+                    || field.hasAnnotation("javax.persistence.Id")
+                    || field.hasAnnotation("jakarta.persistence.Id");
+            xml.append("    <").append(isId ? "id" : "result")
+                    .append(" column=\"").append(columnName(field.getName()))
+                    .append("\" property=\"").append(field.getName()).append("\"");
+            String jdbcType = JdbcTypeUtil.getJdbcType(field.getType().getPresentableText());
+            if (jdbcType != null) {
+                xml.append(" jdbcType=\"").append(jdbcType).append("\"");
+            }
+            xml.append("/>\n");
+        }
+        xml.append("</resultMap>");
+        return xml.toString();
+    }
+
+    private String generateBaseColumnList(List<PsiField> columnFields) {
+        return "<sql id=\"" + MapperXmlUtil.BASE_COLUMN_LIST + "\">\n" +
+                "    " + columnFields.stream()
+                        .map(field -> columnName(field.getName()))
+                        .collect(Collectors.joining(", ")) + "\n" +
+                "</sql>";
+    }
+
+    private List<PsiField> getColumnFields(PsiClass databaseEntityClass) {
+        return Arrays.stream(databaseEntityClass.getAllFields())
+                .filter(field -> !field.hasModifierProperty(PsiModifier.STATIC) && !field.hasModifierProperty(PsiModifier.TRANSIENT))
+                .collect(Collectors.toList());
+    }
+
+    private String generateUpsertSql(String methodName, PsiClass databaseEntityClass, List<FieldWithCondition> selectedFields) {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<insert id=\"").append(methodName).append("\">\n");
+        for (String line : new UpsertSqlBuilder(dialect, entityNames).build(databaseEntityClass, selectedFields)) {
+            xml.append("    ").append(line.replace("\n", "\n    ")).append("\n");
+        }
+        xml.append("</insert>");
+        return xml.toString();
+    }
+
+    private String generateCountSql(String methodName, String tableName, List<FieldWithCondition> selectedFields) {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<select id=\"").append(methodName).append("\" resultType=\"java.lang.Long\"")
+                .append(resultCaching ? " useCache=\"true\"" : "").append(">\n");
+        xml.append("    SELECT COUNT(*)");
+        xml.append("\n    FROM ").append(tableName);
+        xml.append("\n    <where>\n");
+        xml.append(generateWhereClause(selectedFields, SqlType.COUNT));
+        xml.append("    </where>\n");
         xml.append("</select>");
         return xml.toString();
     }
 
-    private String generateUpdateSql(String methodName, PsiClass selectedClass, String tableName, 
+    private String generateExistsSql(String methodName, String tableName, List<FieldWithCondition> selectedFields) {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<!-- Returns 1 when a matching row exists, null otherwise -->\n");
+        xml.append("<select id=\"").append(methodName).append("\" resultType=\"java.lang.Integer\"")
+                .append(resultCaching ? " useCache=\"true\"" : "").append(">\n");
+        xml.append("    SELECT 1");
+        xml.append("\n    FROM ").append(tableName);
+        xml.append("\n    <where>\n");
+        xml.append(generateWhereClause(selectedFields, SqlType.EXISTS));
+        xml.append("    </where>\n");
+        xml.append("    ").append(generateSingleRowLimit()).append("\n");
+        xml.append("</select>");
+        return xml.toString();
+    }
+
+    private String generateSingleRowLimit() {
+        switch (dialect) {
+            case ORACLE:
+                // Oracle 12c and later
+                return "FETCH FIRST 1 ROWS ONLY";
+            case MYSQL:
+            case POSTGRESQL:
+            case H2:
+            default:
+                return "LIMIT 1";
+        }
+    }
+
+    private String generateUpdateSql(String methodName, PsiClass selectedClass, PsiClass databaseEntityClass, String tableName,
                                      Set<String> databaseFieldNames, List<FieldWithCondition> selectedFields) {
+        if (dirtyFieldUpdate) {
+            DirtyFieldUpdates.requireDirtyFields(selectedClass);
+        }
+        PsiField versionField = optimisticLocking ? DirtyFieldUpdates.findVersionField(selectedClass, databaseEntityClass) : null;
+
         StringBuilder xml = new StringBuilder();
+        if (dirtyFieldUpdate && versionField == null) {
+            xml.append("<!-- Skip the call when dirtyFields is empty, an empty SET is invalid SQL -->\n");
+        }
+        if (versionField != null) {
+            xml.append("<!-- Returns 0 when the row was changed since it was loaded; raise an optimistic lock failure then -->\n");
+        }
         xml.append("<update id=\"").append(methodName).append("\">\n");
         xml.append("    UPDATE ").append(tableName).append("\n");
         xml.append("    <set>\n");
@@ -68,15 +347,37 @@ public class MyBatisSqlGenerator implements SqlGenerator {
             String fieldName = field.getName();
             String typeName = field.getType().getPresentableText();
 
+            if (versionField != null && fieldName.equals(versionField.getName())) {
+                continue;
+            }
             if (databaseFieldNames.contains(fieldName)) {
-                String databaseField = camelToSnakeCase(fieldName);
-                xml.append(generateUpdateSetClause(fieldName, typeName, databaseField));
+                String databaseField = columnName(fieldName);
+                if (dirtyFieldUpdate) {
+                    xml.append(generateDirtyUpdateSetClause(fieldName, databaseField, placeholder(fieldName, field.getType())));
+                } else if (shapeMode == SqlShapeMode.STABLE) {
+                    xml.append(generateStableUpdateSetClause(typeName, databaseField, placeholder(fieldName, field.getType())));
+                } else {
+                    xml.append(generateUpdateSetClause(fieldName, typeName, databaseField, placeholder(fieldName, field.getType())));
+                }
             }
         }
 
+        if (versionField != null) {
+            String versionColumn = columnName(versionField.getName());
+            xml.append("        ").append(versionColumn).append(" = ").append(versionColumn).append(" + 1,\n");
+        }
         xml.append("    </set>\n");
         xml.append("    <where>\n");
-        xml.append(generateWhereClause(selectedFields, SqlType.UPDATE));
+        if (versionField != null) {
+            // Parenthesized so an OR among the user predicates cannot bypass the version check
+            xml.append("        <trim prefix=\"(\" suffix=\")\" prefixOverrides=\"AND |OR \">\n");
+            xml.append(generateWhereClause(selectedFields, SqlType.UPDATE));
+            xml.append("        </trim>\n");
+            xml.append("        AND ").append(columnName(versionField.getName())).append(" = ")
+                    .append(placeholder(versionField.getName(), versionField.getType())).append("\n");
+        } else {
+            xml.append(generateWhereClause(selectedFields, SqlType.UPDATE));
+        }
         xml.append("    </where>\n");
         xml.append("</update>");
         return xml.toString();
@@ -106,12 +407,20 @@ public class MyBatisSqlGenerator implements SqlGenerator {
         xml.append("    INSERT INTO ").append(tableName).append("\n");
         xml.append("    <trim prefix=\"(\" suffix=\")\" suffixOverrides=\",\">\n");
         for (FieldWithCondition fwc : selectedFields) {
-            xml.append(generateInsertColumnClause(fwc));
+            if (shapeMode == SqlShapeMode.STABLE) {
+                xml.append("        ").append(columnName(fwc.databaseField)).append(",\n");
+            } else {
+                xml.append(generateInsertColumnClause(fwc));
+            }
         }
         xml.append("    </trim>\n");
         xml.append("    <trim prefix=\"VALUES (\" suffix=\")\" suffixOverrides=\",\">\n");
         for (FieldWithCondition fwc : selectedFields) {
-            xml.append(generateInsertValueClause(fwc));
+            if (shapeMode == SqlShapeMode.STABLE) {
+                xml.append("        ").append(placeholder(fwc.field.getName(), fwc.field.getType())).append(",\n");
+            } else {
+                xml.append(generateInsertValueClause(fwc));
+            }
         }
         xml.append("    </trim>\n");
         xml.append("</insert>");
@@ -119,16 +428,48 @@ public class MyBatisSqlGenerator implements SqlGenerator {
     }
 
     private String generateWhereClause(List<FieldWithCondition> selectedFields, SqlType sqlType) {
+        if (shapeMode == SqlShapeMode.STABLE && hasOrConnection(selectedFields)) {
+            throw new IllegalArgumentException("The STABLE shape cannot keep an absent OR-connected predicate neutral; "
+                    + "use the DYNAMIC shape, or Rewrite Anti-Patterns to split a SELECT into a UNION");
+        }
         StringBuilder whereClause = new StringBuilder();
-        if (!SqlType.SELECT_PAGE.equals(sqlType)) {
+        if (!SqlType.SELECT_PAGE.equals(sqlType) && !SqlType.SELECT_STREAM.equals(sqlType)) {
             whereClause.append(generateOuterIfCondition(selectedFields, sqlType));
         }
-        for (FieldWithCondition fwc : selectedFields) {
-            whereClause.append(generateFieldCondition(fwc));
+        for (int i = 0; i < selectedFields.size(); i++) {
+            FieldWithCondition fwc = selectedFields.get(i);
+            if (shardKeyFields.contains(fwc.databaseField)) {
+                // Shard keys are never optional: a missing value must fail rather than fan out to every shard
+                whereClause.append(generateShardKeyCheck(fwc));
+                whereClause.append(generateFieldPredicate(fwc));
+            } else if (shapeMode == SqlShapeMode.STABLE && !fwc.condition.equalsIgnoreCase("in")) {
+                whereClause.append(generateStableFieldCondition(fwc));
+            } else {
+                whereClause.append(generateFieldCondition(fwc));
+            }
         }
         return whereClause.toString();
     }
 
+    /**
+     * Binds the shard key through {@code Objects.requireNonNull}, so a null value throws before the statement is
+     * executed instead of binding NULL.
+     */
+    private String generateShardKeyCheck(FieldWithCondition fwc) {
+        String fieldName = fwc.field.getName();
+        return "            <bind name=\"_shardKey_" + fieldName + "\" value=\"@java.util.Objects@requireNonNull("
+                + fieldName + ", 'Shard key " + fieldName + " must not be null')\"/>\n";
+    }
+
+    private static boolean hasOrConnection(List<FieldWithCondition> selectedFields) {
+        for (int i = 1; i < selectedFields.size(); i++) {
+            if (selectedFields.get(i).connection.equalsIgnoreCase("OR")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String generateOuterIfCondition(List<FieldWithCondition> selectedFields, SqlType sqlType) {
         StringBuilder condition = new StringBuilder("            <if test=\"");
         List<String> conditions = new ArrayList<>();
@@ -172,8 +513,6 @@ public class MyBatisSqlGenerator implements SqlGenerator {
 
     private String generateFieldCondition(FieldWithCondition fwc) {
         String fieldName = fwc.field.getName();
-        String databaseField = camelToSnakeCase(fwc.databaseField);
-        String condition = fwc.condition;
         String typeName = fwc.field.getType().getPresentableText();
 
         StringBuilder fieldCondition = new StringBuilder();
@@ -186,25 +525,82 @@ public class MyBatisSqlGenerator implements SqlGenerator {
         }
 
         fieldCondition.append("\">\n");
+        fieldCondition.append(generateFieldPredicate(fwc));
+        fieldCondition.append("            </if>\n");
+
+        return fieldCondition.toString();
+    }
+
+    private String generateFieldPredicate(FieldWithCondition fwc) {
+        String fieldName = fwc.field.getName();
+        String databaseField = columnName(fwc.databaseField);
+        String condition = fwc.condition;
+        String parameter = placeholder(fieldName, fwc.field.getType());
+
+        StringBuilder fieldCondition = new StringBuilder();
         fieldCondition.append("                ").append(fwc.connection).append(" ");
 
         if (condition.equalsIgnoreCase("LIKE")) {
-            fieldCondition.append(databaseField).append(" LIKE CONCAT('%', #{").append(fieldName).append("}, '%')\n");
+            fieldCondition.append(databaseField).append(" LIKE CONCAT('%', ").append(parameter).append(", '%')\n");
         } else if (condition.equalsIgnoreCase("in")) {
             fieldCondition.append(databaseField).append(" IN\n");
             fieldCondition.append("                <foreach item=\"item\" index=\"index\" collection=\"").append(fieldName).append("\"\n");
             fieldCondition.append("                         open=\"(\" separator=\",\" close=\")\">\n");
-            fieldCondition.append("                    #{item}\n");
+            fieldCondition.append("                    ").append(placeholder("item", fwc.field.getType())).append("\n");
             fieldCondition.append("                </foreach>\n");
         } else {
-            fieldCondition.append(databaseField).append(" ").append(escapeXmlSpecialChars(condition)).append(" #{").append(fieldName).append("}\n");
+            fieldCondition.append(databaseField).append(" ").append(escapeXmlSpecialChars(condition)).append(" ").append(parameter).append("\n");
         }
-        fieldCondition.append("            </if>\n");
+        return fieldCondition.toString();
+    }
+
+    /**
+     * Renders the predicate without {@code <if>}: an absent value evaluates to true, so the AND-connected clause
+     * is neutral while the SQL text never changes. OR connections are refused in {@link #generateWhereClause},
+     * since a true term would match every row there. IN conditions keep their {@code <if>} because an empty
+     * {@code <foreach>} is not valid SQL.
+     */
+    private String generateStableFieldCondition(FieldWithCondition fwc) {
+        String fieldName = fwc.field.getName();
+        String databaseField = columnName(fwc.databaseField);
+        String condition = fwc.condition;
+        String typeName = fwc.field.getType().getPresentableText();
+        String parameter = placeholder(fieldName, fwc.field.getType());
+
+        StringBuilder fieldCondition = new StringBuilder("            AND (");
+        fieldCondition.append(parameter).append(" IS NULL OR ");
+        if (typeName.equals("String")) {
+            fieldCondition.append(parameter).append(" = '' OR ");
+        }
+
+        if (condition.equalsIgnoreCase("LIKE")) {
+            fieldCondition.append(databaseField).append(" LIKE CONCAT('%', ").append(parameter).append(", '%')");
+        } else {
+            fieldCondition.append(databaseField).append(" ").append(escapeXmlSpecialChars(condition)).append(" ").append(parameter);
+        }
+        fieldCondition.append(")\n");
 
         return fieldCondition.toString();
     }
 
-    private String generateUpdateSetClause(String fieldName, String typeName, String databaseField) {
+    private String generateStableUpdateSetClause(String typeName, String databaseField, String parameter) {
+        if (typeName.equals("String")) {
+            parameter = "NULLIF(" + parameter + ", '')";
+        }
+        return "        " + databaseField + " = COALESCE(" + parameter + ", " + databaseField + "),\n";
+    }
+
+    /**
+     * Unlike the non-null check, a dirty field is written even when it is null, so a column can be cleared.
+     */
+    private String generateDirtyUpdateSetClause(String fieldName, String databaseField, String parameter) {
+        // Double quotes inside the test keep a one-character name a String, OGNL reads 'x' as a Character
+        return "        <if test='" + DirtyFieldUpdates.DIRTY_FIELDS + ".contains(\"" + fieldName + "\")'>\n"
+                + "            " + databaseField + " = " + parameter + ",\n"
+                + "        </if>\n";
+    }
+
+    private String generateUpdateSetClause(String fieldName, String typeName, String databaseField, String parameter) {
         StringBuilder clause = new StringBuilder();
         clause.append("        <if test=\"").append(fieldName).append(" != null");
         if (typeName.equals("String")) {
@@ -213,14 +609,14 @@ public class MyBatisSqlGenerator implements SqlGenerator {
             clause.append(" and !").append(fieldName).append(".isEmpty()");
         }
         clause.append("\">\n");
-        clause.append("            ").append(databaseField).append(" = #{").append(fieldName).append("},\n");
+        clause.append("            ").append(databaseField).append(" = ").append(parameter).append(",\n");
         clause.append("        </if>\n");
         return clause.toString();
     }
 
     private String generateInsertColumnClause(FieldWithCondition fwc) {
         String fieldName = fwc.field.getName();
-        String databaseField = camelToSnakeCase(fwc.databaseField);
+        String databaseField = columnName(fwc.databaseField);
         String typeName = fwc.field.getType().getPresentableText();
 
         StringBuilder clause = new StringBuilder();
@@ -248,11 +644,15 @@ public class MyBatisSqlGenerator implements SqlGenerator {
             clause.append(" and !").append(fieldName).append(".isEmpty()");
         }
         clause.append("\">\n");
-        clause.append("            #{").append(fieldName).append("},\n");
+        clause.append("            ").append(placeholder(fieldName, fwc.field.getType())).append(",\n");
         clause.append("        </if>\n");
         return clause.toString();
     }
 
+    private static String placeholder(String property, PsiType parameterType) {
+        return MyBatisPlaceholders.placeholder(property, parameterType);
+    }
+
     private String escapeXmlSpecialChars(String input) {
         return input.replace("&", "&amp;")
                 .replace("<", "&lt;")
@@ -261,7 +661,7 @@ public class MyBatisSqlGenerator implements SqlGenerator {
                 .replace("'", "&apos;");
     }
 
-    private String camelToSnakeCase(String str) {
-        return str.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+    private String columnName(String fieldName) {
+        return entityNames.getColumnName(fieldName);
     }
 }
\ No newline at end of file
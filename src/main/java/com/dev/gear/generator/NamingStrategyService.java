@@ -0,0 +1,158 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.type.NamingStrategy;
+import com.dev.gear.util.JdbcTypeUtil;
+import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves physical table and column names for all generators. Names declared with {@code @TableName},
+ * {@code @Table}, {@code @TableField}, {@code @TableId} or {@code @Column} win; other names are derived with the
+ * configured {@link NamingStrategy}. Column JDBC types come from {@code @TableField(jdbcType)} or
+ * {@code @Column(columnDefinition)}, otherwise from the field's Java type. Results are cached per class until the
+ * next PSI change.
+ */
+public class NamingStrategyService {
+
+    private static final Key<CachedValue<Map<String, EntityNames>>> ENTITY_NAMES_KEY = Key.create("InteractiveSqlGenerator.EntityNames");
+
+    private static final String[][] TABLE_ANNOTATIONS = {
+            {"com.baomidou.mybatisplus.annotation.TableName", "value"},
+            {"javax.persistence.Table", "name"},
+            {"jakarta.persistence.Table", "name"}
+    };
+
+    private static final String[][] COLUMN_ANNOTATIONS = {
+            {"com.baomidou.mybatisplus.annotation.TableField", "value"},
+            {"com.baomidou.mybatisplus.annotation.TableId", "value"},
+            {"javax.persistence.Column", "name"},
+            {"jakarta.persistence.Column", "name"}
+    };
+
+    private final NamingStrategy namingStrategy;
+    private final String tablePrefix;
+
+    public NamingStrategyService(GeneratorOptions options) {
+        this.namingStrategy = options.getNamingStrategy();
+        this.tablePrefix = options.getTablePrefix();
+    }
+
+    public EntityNames getEntityNames(PsiClass entityClass) {
+        Map<String, EntityNames> namesByStrategy = CachedValuesManager.getCachedValue(entityClass, ENTITY_NAMES_KEY,
+                () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(),
+                        PsiModificationTracker.getInstance(entityClass.getProject())));
+        return namesByStrategy.computeIfAbsent(namingStrategy + ":" + tablePrefix, k -> computeEntityNames(entityClass));
+    }
+
+    private EntityNames computeEntityNames(PsiClass entityClass) {
+        String tableName = findAnnotatedName(entityClass, TABLE_ANNOTATIONS);
+        if (tableName == null) {
+            tableName = tablePrefix + namingStrategy.apply(entityClass.getName());
+        }
+
+        Map<String, String> columnsByField = new LinkedHashMap<>();
+        Map<String, String> jdbcTypesByField = new LinkedHashMap<>();
+        for (PsiField field : entityClass.getAllFields()) {
+            if (!field.hasModifierProperty(PsiModifier.STATIC)) {
+                String columnName = findAnnotatedColumnName(field);
+                columnsByField.putIfAbsent(field.getName(), columnName != null ? columnName : namingStrategy.apply(field.getName()));
+                String jdbcType = findColumnJdbcType(field);
+                if (jdbcType != null) {
+                    jdbcTypesByField.putIfAbsent(field.getName(), jdbcType);
+                }
+            }
+        }
+        return new EntityNames(tableName, columnsByField, jdbcTypesByField, namingStrategy);
+    }
+
+    private static String findColumnJdbcType(PsiField field) {
+        PsiAnnotation tableField = field.getAnnotation("com.baomidou.mybatisplus.annotation.TableField");
+        PsiAnnotationMemberValue jdbcType = tableField != null ? tableField.findDeclaredAttributeValue("jdbcType") : null;
+        if (jdbcType != null) {
+            // JdbcType.VARCHAR
+            String text = jdbcType.getText();
+            return text.substring(text.lastIndexOf('.') + 1);
+        }
+        for (String column : new String[]{"javax.persistence.Column", "jakarta.persistence.Column"}) {
+            PsiAnnotation annotation = field.getAnnotation(column);
+            String columnDefinition = annotation != null ? AnnotationUtil.getStringAttributeValue(annotation, "columnDefinition") : null;
+            if (columnDefinition != null && !columnDefinition.isEmpty()) {
+                String definedType = JdbcTypeUtil.getJdbcTypeOfColumnDefinition(columnDefinition);
+                if (definedType != null) {
+                    return definedType;
+                }
+            }
+        }
+        return JdbcTypeUtil.getJdbcType(field.getType().getPresentableText());
+    }
+
+    /**
+     * @return the column name declared on the field by a mapping annotation, or {@code null}
+     */
+    public static String findAnnotatedColumnName(PsiField field) {
+        return findAnnotatedName(field, COLUMN_ANNOTATIONS);
+    }
+
+    private static String findAnnotatedName(PsiModifierListOwner owner, String[][] annotations) {
+        for (String[] annotation : annotations) {
+            PsiAnnotation psiAnnotation = owner.getAnnotation(annotation[0]);
+            if (psiAnnotation != null) {
+                String name = AnnotationUtil.getStringAttributeValue(psiAnnotation, annotation[1]);
+                if (name != null && !name.isEmpty()) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    public static class EntityNames {
+        private final String tableName;
+        private final Map<String, String> columnsByField;
+        private final Map<String, String> jdbcTypesByField;
+        private final NamingStrategy namingStrategy;
+
+        EntityNames(String tableName, Map<String, String> columnsByField, Map<String, String> jdbcTypesByField,
+                    NamingStrategy namingStrategy) {
+            this.tableName = tableName;
+            this.columnsByField = columnsByField;
+            this.jdbcTypesByField = jdbcTypesByField;
+            this.namingStrategy = namingStrategy;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public Collection<String> getColumnNames() {
+            return columnsByField.values();
+        }
+
+        public String getColumnName(String fieldName) {
+            String columnName = columnsByField.get(fieldName);
+            return columnName != null ? columnName : namingStrategy.apply(fieldName);
+        }
+
+        /**
+         * @return the JDBC type of the field's column, or {@code null} when it cannot be told
+         */
+        public String getColumnJdbcType(String fieldName) {
+            return jdbcTypesByField.get(fieldName);
+        }
+    }
+}
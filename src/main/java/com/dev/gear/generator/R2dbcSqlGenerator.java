@@ -0,0 +1,188 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.SqlType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates Spring Data R2DBC queries through {@code R2dbcEntityTemplate}, returning {@code Flux} for rows and
+ * {@code Mono} for single results, with the same predicates as the blocking generators.
+ */
+public class R2dbcSqlGenerator implements SqlGenerator {
+
+    private final Set<String> shardKeyFields;
+
+    public R2dbcSqlGenerator() {
+        this(new GeneratorOptions());
+    }
+
+    public R2dbcSqlGenerator(GeneratorOptions options) {
+        this.shardKeyFields = options.getShardKeyFields();
+    }
+
+    @Override
+    public String generateSql(PsiClass selectedClass, List<FieldWithCondition> selectedFields, SqlType sqlType, PsiClass databaseEntityClass) {
+        String entityName = databaseEntityClass.getName();
+        String methodName = sqlType.name().toLowerCase() + entityName;
+        switch (sqlType) {
+            case SELECT:
+            case SELECT_STREAM:
+                return generateMethodHeader("Flux<" + entityName + ">", methodName, selectedClass, "", "Flux", selectedFields, sqlType)
+                        + "    return r2dbcEntityTemplate.select(" + entityName + ".class).matching(Query.query(criteria)).all();\n}";
+            case SELECT_PAGE:
+                return generateMethodHeader("Flux<" + entityName + ">", methodName, selectedClass, ", Pageable pageable", "Flux", selectedFields, sqlType)
+                        + "    return r2dbcEntityTemplate.select(" + entityName + ".class).matching(Query.query(criteria).with(pageable)).all();\n}";
+            case COUNT:
+                return generateMethodHeader("Mono<Long>", methodName, selectedClass, "", "Mono", selectedFields, sqlType)
+                        + "    return r2dbcEntityTemplate.select(" + entityName + ".class).matching(Query.query(criteria)).count();\n}";
+            case EXISTS:
+                return generateMethodHeader("Mono<Boolean>", methodName, selectedClass, "", "Mono", selectedFields, sqlType)
+                        + "    return r2dbcEntityTemplate.select(" + entityName + ".class).matching(Query.query(criteria)).exists();\n}";
+            case UPDATE:
+                return generateUpdateMethod(methodName, selectedClass, databaseEntityClass, selectedFields);
+            case DELETE:
+                return generateMethodHeader("Mono<Long>", methodName, selectedClass, "", "Mono", selectedFields, sqlType)
+                        + "    return r2dbcEntityTemplate.delete(" + entityName + ".class).matching(Query.query(criteria)).all();\n}";
+            case INSERT:
+                return generateInsertMethod(methodName, selectedClass, databaseEntityClass, selectedFields);
+            default:
+                throw new IllegalArgumentException(sqlType + " has no reactive variant, R2dbcEntityTemplate cannot express it");
+        }
+    }
+
+    private String generateMethodHeader(String returnType, String methodName, PsiClass selectedClass, String extraParameters,
+                                        String publisher, List<FieldWithCondition> selectedFields, SqlType sqlType) {
+        StringBuilder java = new StringBuilder();
+        java.append("public ").append(returnType).append(" ").append(methodName).append("(")
+                .append(selectedClass.getName()).append(" entity").append(extraParameters).append(") {\n");
+        java.append("    if (entity == null) {\n");
+        java.append("        return ").append(publisher).append(".error(new IllegalArgumentException(\"Entity must not be null\"));\n");
+        java.append("    }\n");
+        java.append(generateValidations(publisher, selectedFields, sqlType));
+        java.append("    Criteria criteria = Criteria.empty();\n");
+        for (int i = 0; i < selectedFields.size(); i++) {
+            FieldWithCondition fwc = selectedFields.get(i);
+            String connection = i > 0 && fwc.getConnection().equalsIgnoreCase("OR") ? "or" : "and";
+            String criterion = "criteria = criteria." + connection + "(\"" + fwc.getDatabaseField() + "\")."
+                    + getCriteriaMethod(fwc) + ";\n";
+            if (shardKeyFields.contains(fwc.getDatabaseField())) {
+                // Shard keys are never optional: a missing value fails rather than widening the query to every shard
+                java.append("    if (entity.get").append(capitalize(fwc.getField().getName())).append("() == null) {\n");
+                java.append("        return ").append(publisher).append(".error(new IllegalArgumentException(\"Shard key ")
+                        .append(fwc.getField().getName()).append(" must not be null\"));\n");
+                java.append("    }\n");
+                java.append("    ").append(criterion);
+            } else {
+                java.append("    if (").append(generateNotEmptyCheck(fwc)).append(") {\n");
+                java.append("        ").append(criterion);
+                java.append("    }\n");
+            }
+        }
+        return java.toString();
+    }
+
+    private String generateValidations(String publisher, List<FieldWithCondition> selectedFields, SqlType sqlType) {
+        if (sqlType == SqlType.SELECT_PAGE || sqlType == SqlType.SELECT_STREAM || selectedFields.isEmpty()) {
+            return "";
+        }
+        StringBuilder validation = new StringBuilder();
+        if (sqlType == SqlType.UPDATE || sqlType == SqlType.DELETE || sqlType == SqlType.INSERT) {
+            for (FieldWithCondition fwc : selectedFields) {
+                validation.append("    if (!(").append(generateNotEmptyCheck(fwc)).append(")) {\n");
+                validation.append("        return ").append(publisher).append(".error(new IllegalArgumentException(\"")
+                        .append(fwc.getField().getName()).append(" must not be null or empty\"));\n");
+                validation.append("    }\n");
+            }
+            return validation.toString();
+        }
+        String allEmpty = selectedFields.stream()
+                .map(fwc -> "!(" + generateNotEmptyCheck(fwc) + ")")
+                .collect(Collectors.joining(" &&\n            "));
+        validation.append("    if (").append(allEmpty).append(") {\n");
+        validation.append("        return ").append(publisher).append(".error(new IllegalArgumentException(\"At least one search criteria must be provided\"));\n");
+        validation.append("    }\n");
+        return validation.toString();
+    }
+
+    private String generateUpdateMethod(String methodName, PsiClass selectedClass, PsiClass databaseEntityClass,
+                                        List<FieldWithCondition> selectedFields) {
+        Set<String> databaseFieldNames = Arrays.stream(databaseEntityClass.getAllFields())
+                .map(PsiField::getName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        StringBuilder java = new StringBuilder(generateMethodHeader("Mono<Long>", methodName, selectedClass, "", "Mono", selectedFields, SqlType.UPDATE));
+        java.append("    Update update = null;\n");
+        for (PsiField field : selectedClass.getAllFields()) {
+            if (!databaseFieldNames.contains(field.getName())) {
+                continue;
+            }
+            String getter = "entity.get" + capitalize(field.getName()) + "()";
+            java.append("    if (").append(getter).append(" != null) {\n");
+            java.append("        update = update == null ? Update.update(\"").append(field.getName()).append("\", ").append(getter)
+                    .append(") : update.set(\"").append(field.getName()).append("\", ").append(getter).append(");\n");
+            java.append("    }\n");
+        }
+        java.append("    if (update == null) {\n");
+        java.append("        return Mono.just(0L);\n");
+        java.append("    }\n");
+        java.append("    return r2dbcEntityTemplate.update(").append(databaseEntityClass.getName())
+                .append(".class).matching(Query.query(criteria)).apply(update);\n");
+        java.append("}");
+        return java.toString();
+    }
+
+    private String generateInsertMethod(String methodName, PsiClass selectedClass, PsiClass databaseEntityClass,
+                                        List<FieldWithCondition> selectedFields) {
+        String entityName = databaseEntityClass.getName();
+        StringBuilder java = new StringBuilder();
+        java.append("public Mono<").append(entityName).append("> ").append(methodName).append("(")
+                .append(selectedClass.getName()).append(" entity) {\n");
+        java.append("    if (entity == null) {\n");
+        java.append("        return Mono.error(new IllegalArgumentException(\"Entity must not be null\"));\n");
+        java.append("    }\n");
+        java.append(generateValidations("Mono", selectedFields, SqlType.INSERT));
+        java.append("    ").append(entityName).append(" row = new ").append(entityName).append("();\n");
+        for (FieldWithCondition fwc : selectedFields) {
+            java.append("    row.set").append(capitalize(fwc.getDatabaseField())).append("(entity.get")
+                    .append(capitalize(fwc.getField().getName())).append("());\n");
+        }
+        java.append("    return r2dbcEntityTemplate.insert(row);\n");
+        java.append("}");
+        return java.toString();
+    }
+
+    private String getCriteriaMethod(FieldWithCondition fwc) {
+        String value = "entity.get" + capitalize(fwc.getField().getName()) + "()";
+        switch (fwc.getCondition().toLowerCase()) {
+            case "!=": return "not(" + value + ")";
+            case "<": return "lessThan(" + value + ")";
+            case "<=": return "lessThanOrEquals(" + value + ")";
+            case ">": return "greaterThan(" + value + ")";
+            case ">=": return "greaterThanOrEquals(" + value + ")";
+            case "like": return "like(\"%\" + " + value + " + \"%\")";
+            case "in": return "in(" + value + ")";
+            default: return "is(" + value + ")";
+        }
+    }
+
+    private String generateNotEmptyCheck(FieldWithCondition fwc) {
+        String getter = "entity.get" + capitalize(fwc.getField().getName()) + "()";
+        String typeName = fwc.getField().getType().getPresentableText();
+        if (typeName.equals("String")) {
+            return "StringUtils.isNotEmpty(" + getter + ")";
+        } else if (typeName.contains("List") || typeName.contains("Set") || typeName.contains("Collection")) {
+            return "CollectionUtils.isNotEmpty(" + getter + ")";
+        }
+        return getter + " != null";
+    }
+
+    private String capitalize(String str) {
+        return str.substring(0, 1).toUpperCase() + str.substring(1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.OrmType;
+import com.dev.gear.type.SqlType;
+import com.intellij.psi.PsiClass;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks that the shard key predicates are present and prunable, and moves them to the front of the where
+ * clause. Problems are reported as comments above the generated code, or refused when the shard key is required.
+ */
+class ShardKeySqlGenerator implements SqlGenerator {
+
+    private static final List<String> PRUNABLE_CONDITIONS = Arrays.asList("=", "in", "<", "<=", ">", ">=");
+
+    private final SqlGenerator delegate;
+    private final OrmType ormType;
+    private final Set<String> shardKeyFields;
+    private final boolean requireShardKey;
+
+    ShardKeySqlGenerator(SqlGenerator delegate, OrmType ormType, GeneratorOptions options) {
+        this.delegate = delegate;
+        this.ormType = ormType;
+        this.shardKeyFields = options.getShardKeyFields();
+        this.requireShardKey = options.isRequireShardKey();
+    }
+
+    @Override
+    public String generateSql(PsiClass selectedClass, List<FieldWithCondition> selectedFields, SqlType sqlType, PsiClass databaseEntityClass) {
+        if (shardKeyFields.isEmpty() || sqlType == SqlType.INSERT || sqlType == SqlType.UPSERT) {
+            return delegate.generateSql(selectedClass, selectedFields, sqlType, databaseEntityClass);
+        }
+        List<String> problems = findShardKeyProblems(selectedFields);
+        if (problems.isEmpty()) {
+            return delegate.generateSql(selectedClass, moveShardKeysFirst(selectedFields), sqlType, databaseEntityClass);
+        }
+        if (requireShardKey) {
+            throw new IllegalArgumentException(String.join("; ", problems));
+        }
+        StringBuilder code = new StringBuilder();
+        for (String problem : problems) {
+            String message = "Warning: " + problem;
+            code.append(ormType == OrmType.MYBATIS ? "<!-- " + message + " -->" : "// " + message).append("\n");
+        }
+        return code.append(delegate.generateSql(selectedClass, selectedFields, sqlType, databaseEntityClass)).toString();
+    }
+
+    /**
+     * A statement stays on one shard only if every key column has an equality or range predicate that the
+     * whole where clause depends on, which rules out OR connections and non-sargable operators.
+     */
+    private List<String> findShardKeyProblems(List<FieldWithCondition> selectedFields) {
+        List<String> problems = new ArrayList<>();
+        for (String shardKey : shardKeyFields) {
+            FieldWithCondition keyField = selectedFields.stream()
+                    .filter(fwc -> shardKey.equals(fwc.getDatabaseField()))
+                    .findFirst()
+                    .orElse(null);
+            if (keyField == null) {
+                problems.add("no predicate on shard key " + shardKey + ", the statement fans out to every shard and partition");
+            } else if (!PRUNABLE_CONDITIONS.contains(keyField.getCondition().toLowerCase())) {
+                problems.add("shard key " + shardKey + " uses " + keyField.getCondition()
+                        + ", only =, IN and range conditions allow shard routing and partition pruning");
+            }
+        }
+        for (int i = 1; i < selectedFields.size(); i++) {
+            if ("OR".equalsIgnoreCase(selectedFields.get(i).getConnection())) {
+                problems.add("OR before " + selectedFields.get(i).getDatabaseField() + " lets rows outside the shard key match");
+                break;
+            }
+        }
+        return problems;
+    }
+
+    private List<FieldWithCondition> moveShardKeysFirst(List<FieldWithCondition> selectedFields) {
+        List<FieldWithCondition> ordered = new ArrayList<>();
+        for (String shardKey : shardKeyFields) {
+            selectedFields.stream()
+                    .filter(fwc -> shardKey.equals(fwc.getDatabaseField()))
+                    .forEach(ordered::add);
+        }
+        selectedFields.stream()
+                .filter(fwc -> !shardKeyFields.contains(fwc.getDatabaseField()))
+                .forEach(ordered::add);
+        return ordered;
+    }
+}
@@ -0,0 +1,228 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.type.OrmType;
+import com.dev.gear.type.SqlType;
+import com.intellij.psi.PsiClass;
+
+/**
+ * Generates runtime instrumentation for generated statements: a MyBatis {@code Interceptor} on
+ * {@code Executor.query}/{@code update} for MyBatis and MyBatis-Plus, or a Hibernate {@code StatementInspector} with
+ * a session listener for JPA. Statements are timed per id into lock-free log2 histograms, and only statements over
+ * the threshold are logged, with their bound parameters where the ORM exposes them. Unmonitored statements pass
+ * through after a single set lookup.
+ */
+public class SlowStatementMonitorGenerator {
+
+    private static final int HISTOGRAM_BUCKETS = 32;
+
+    private final NamingStrategyService namingStrategyService;
+    private final long thresholdMs;
+
+    public SlowStatementMonitorGenerator(GeneratorOptions options) {
+        this.namingStrategyService = new NamingStrategyService(options);
+        this.thresholdMs = options.getSlowStatementThresholdMs();
+    }
+
+    public String generate(OrmType ormType, PsiClass selectedClass, SqlType sqlType, PsiClass databaseEntityClass) {
+        switch (ormType) {
+            case MYBATIS:
+                // Same id as MyBatisSqlGenerator gives the statement
+                return generateMyBatisInterceptor(sqlType.name().toLowerCase() + selectedClass.getName());
+            case MYBATIS_PLUS:
+                // The lambda wrappers run the BaseMapper statements of the entity's mapper
+                return generateMyBatisInterceptor(databaseEntityClass.getName() + "Mapper");
+            default:
+                return generateHibernateInspector(namingStrategyService.getEntityNames(databaseEntityClass).getTableName());
+        }
+    }
+
+    private String generateMyBatisInterceptor(String monitoredName) {
+        StringBuilder java = new StringBuilder();
+        java.append("// Register as a bean (Spring Boot) or in <plugins> of mybatis-config.xml\n");
+        java.append("@Intercepts({\n");
+        java.append("        @Signature(type = Executor.class, method = \"query\", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),\n");
+        java.append("        @Signature(type = Executor.class, method = \"query\", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),\n");
+        java.append("        @Signature(type = Executor.class, method = \"update\", args = {MappedStatement.class, Object.class})\n");
+        java.append("})\n");
+        java.append("public class SlowStatementInterceptor implements Interceptor {\n\n");
+        java.append("    private static final Logger log = LoggerFactory.getLogger(SlowStatementInterceptor.class);\n");
+        java.append("    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(").append(thresholdMs).append(");\n");
+        java.append("    // Statement ids or mapper names to time; add the other generated statements here\n");
+        java.append("    private static final Set<String> MONITORED = Set.of(\"").append(monitoredName).append("\");\n");
+        java.append("    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();\n\n");
+
+        java.append("    @Override\n");
+        java.append("    public Object intercept(Invocation invocation) throws Throwable {\n");
+        java.append("        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];\n");
+        java.append("        String id = statement.getId();\n");
+        java.append("        if (!isMonitored(id)) {\n");
+        java.append("            return invocation.proceed();\n");
+        java.append("        }\n");
+        java.append("        long start = System.nanoTime();\n");
+        java.append("        try {\n");
+        java.append("            return invocation.proceed();\n");
+        java.append("        } finally {\n");
+        java.append("            long elapsed = System.nanoTime() - start;\n");
+        java.append("            HISTOGRAMS.computeIfAbsent(id, key -> new LatencyHistogram()).record(elapsed);\n");
+        java.append("            if (elapsed >= THRESHOLD_NANOS) {\n");
+        java.append("                Object parameter = invocation.getArgs()[1];\n");
+        java.append("                log.warn(\"Slow statement {} took {} ms with {}\", id, TimeUnit.NANOSECONDS.toMillis(elapsed),\n");
+        java.append("                        boundParameters(statement, parameter));\n");
+        java.append("            }\n");
+        java.append("        }\n");
+        java.append("    }\n\n");
+
+        java.append("    public static Map<String, LatencyHistogram> histograms() {\n");
+        java.append("        return Collections.unmodifiableMap(HISTOGRAMS);\n");
+        java.append("    }\n\n");
+
+        java.append("    private static boolean isMonitored(String id) {\n");
+        java.append("        int methodStart = id.lastIndexOf('.');\n");
+        java.append("        int mapperStart = id.lastIndexOf('.', methodStart - 1);\n");
+        java.append("        return MONITORED.contains(id.substring(methodStart + 1))\n");
+        java.append("                || methodStart > 0 && MONITORED.contains(id.substring(mapperStart + 1, methodStart));\n");
+        java.append("    }\n\n");
+
+        java.append("    // Only runs on the slow path\n");
+        java.append("    private static List<String> boundParameters(MappedStatement statement, Object parameter) {\n");
+        java.append("        Configuration configuration = statement.getConfiguration();\n");
+        java.append("        BoundSql boundSql = statement.getBoundSql(parameter);\n");
+        java.append("        MetaObject metaObject = parameter == null ? null : configuration.newMetaObject(parameter);\n");
+        java.append("        List<String> values = new ArrayList<>();\n");
+        java.append("        for (ParameterMapping mapping : boundSql.getParameterMappings()) {\n");
+        java.append("            String property = mapping.getProperty();\n");
+        java.append("            Object value;\n");
+        java.append("            if (boundSql.hasAdditionalParameter(property)) {\n");
+        java.append("                value = boundSql.getAdditionalParameter(property);\n");
+        java.append("            } else if (parameter == null || configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {\n");
+        java.append("                value = parameter;\n");
+        java.append("            } else {\n");
+        java.append("                value = metaObject.getValue(property);\n");
+        java.append("            }\n");
+        java.append("            values.add(property + \"=\" + value);\n");
+        java.append("        }\n");
+        java.append("        return values;\n");
+        java.append("    }\n\n");
+
+        appendHistogram(java);
+        java.append("}");
+        return java.toString();
+    }
+
+    /**
+     * Hibernate's StatementInspector sees the SQL but not its execution, so it hands the SQL to a session listener
+     * that times the JDBC execution. Bound values are not exposed to either; log them with
+     * {@code org.hibernate.orm.jdbc.bind} at TRACE when a statement shows up as slow.
+     */
+    private String generateHibernateInspector(String tableName) {
+        StringBuilder java = new StringBuilder();
+        java.append("// spring.jpa.properties.hibernate.session_factory.statement_inspector=<package>.SlowStatementInspector\n");
+        java.append("// spring.jpa.properties.hibernate.session.events.auto=<package>.SlowStatementInspector$Timer\n");
+        java.append("public class SlowStatementInspector implements StatementInspector {\n\n");
+        java.append("    private static final Logger log = LoggerFactory.getLogger(SlowStatementInspector.class);\n");
+        java.append("    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(").append(thresholdMs).append(");\n");
+        java.append("    // Tables whose statements are timed; add the tables of the other generated statements here\n");
+        java.append("    private static final List<Pattern> MONITORED = List.of(identifier(\"").append(tableName).append("\"));\n");
+        java.append("    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();\n");
+        java.append("    private static final ThreadLocal<String> CURRENT_SQL = new ThreadLocal<>();\n\n");
+
+        java.append("    @Override\n");
+        java.append("    public String inspect(String sql) {\n");
+        java.append("        CURRENT_SQL.set(isMonitored(sql) ? sql : null);\n");
+        java.append("        return sql;\n");
+        java.append("    }\n\n");
+
+        java.append("    public static Map<String, LatencyHistogram> histograms() {\n");
+        java.append("        return Collections.unmodifiableMap(HISTOGRAMS);\n");
+        java.append("    }\n\n");
+
+        java.append("    // Whole identifiers only, so monitoring user does not also time user_role\n");
+        java.append("    private static Pattern identifier(String table) {\n");
+        java.append("        return Pattern.compile(\"\\\\b\" + Pattern.quote(table) + \"\\\\b\", Pattern.CASE_INSENSITIVE);\n");
+        java.append("    }\n\n");
+
+        java.append("    private static boolean isMonitored(String sql) {\n");
+        java.append("        for (Pattern table : MONITORED) {\n");
+        java.append("            if (table.matcher(sql).find()) {\n");
+        java.append("                return true;\n");
+        java.append("            }\n");
+        java.append("        }\n");
+        java.append("        return false;\n");
+        java.append("    }\n\n");
+
+        java.append("    public static class Timer extends BaseSessionEventListener {\n\n");
+        java.append("        private String sql;\n");
+        java.append("        private long start;\n\n");
+        java.append("        @Override\n");
+        java.append("        public void jdbcExecuteStatementStart() {\n");
+        java.append("            sql = CURRENT_SQL.get();\n");
+        java.append("            if (sql != null) {\n");
+        java.append("                start = System.nanoTime();\n");
+        java.append("            }\n");
+        java.append("        }\n\n");
+        java.append("        @Override\n");
+        java.append("        public void jdbcExecuteStatementEnd() {\n");
+        java.append("            // The inspector sets it per statement; clearing it keeps pooled threads from holding on to the last SQL\n");
+        java.append("            CURRENT_SQL.remove();\n");
+        java.append("            if (sql == null) {\n");
+        java.append("                return;\n");
+        java.append("            }\n");
+        java.append("            long elapsed = System.nanoTime() - start;\n");
+        java.append("            HISTOGRAMS.computeIfAbsent(sql, key -> new LatencyHistogram()).record(elapsed);\n");
+        java.append("            if (elapsed >= THRESHOLD_NANOS) {\n");
+        java.append("                log.warn(\"Slow statement took {} ms: {}\", TimeUnit.NANOSECONDS.toMillis(elapsed), sql);\n");
+        java.append("            }\n");
+        java.append("            sql = null;\n");
+        java.append("        }\n");
+        java.append("    }\n\n");
+
+        appendHistogram(java);
+        java.append("}");
+        return java.toString();
+    }
+
+    private void appendHistogram(StringBuilder java) {
+        java.append("    /**\n");
+        java.append("     * Counts latencies in log2 buckets of microseconds; recording is one LongAdder increment, so it never contends.\n");
+        java.append("     */\n");
+        java.append("    public static final class LatencyHistogram {\n\n");
+        java.append("        private static final int BUCKETS = ").append(HISTOGRAM_BUCKETS).append(";\n");
+        java.append("        private final LongAdder[] buckets = new LongAdder[BUCKETS];\n");
+        java.append("        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);\n\n");
+        java.append("        LatencyHistogram() {\n");
+        java.append("            for (int i = 0; i < BUCKETS; i++) {\n");
+        java.append("                buckets[i] = new LongAdder();\n");
+        java.append("            }\n");
+        java.append("        }\n\n");
+        java.append("        void record(long nanos) {\n");
+        java.append("            long micros = nanos / 1_000;\n");
+        java.append("            buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros))].increment();\n");
+        java.append("            maxNanos.accumulate(nanos);\n");
+        java.append("        }\n\n");
+        java.append("        public long count() {\n");
+        java.append("            long count = 0;\n");
+        java.append("            for (LongAdder bucket : buckets) {\n");
+        java.append("                count += bucket.sum();\n");
+        java.append("            }\n");
+        java.append("            return count;\n");
+        java.append("        }\n\n");
+        java.append("        /**\n");
+        java.append("         * @return the upper bound in microseconds of the bucket holding the quantile, e.g. 0.99\n");
+        java.append("         */\n");
+        java.append("        public long quantileMicros(double quantile) {\n");
+        java.append("            long target = (long) Math.ceil(count() * quantile);\n");
+        java.append("            long seen = 0;\n");
+        java.append("            for (int i = 0; i < BUCKETS; i++) {\n");
+        java.append("                seen += buckets[i].sum();\n");
+        java.append("                if (seen >= target) {\n");
+        java.append("                    return 1L << i;\n");
+        java.append("                }\n");
+        java.append("            }\n");
+        java.append("            return 1L << (BUCKETS - 1);\n");
+        java.append("        }\n\n");
+        java.append("        public long maxMicros() {\n");
+        java.append("            return maxNanos.get() / 1_000;\n");
+        java.append("        }\n");
+        java.append("    }\n");
+    }
+}
@@ -0,0 +1,57 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.SqlType;
+import com.intellij.psi.PsiClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders the Spring cache annotations of generated service methods. Queries on an entity share one cache
+ * named after it, keyed by the method name and the predicate values; any write evicts the whole cache
+ * because it can change the result of every cached query.
+ */
+final class SpringCacheAnnotations {
+
+    static String forMethod(SqlType sqlType, PsiClass databaseEntityClass, List<FieldWithCondition> selectedFields) {
+        switch (sqlType) {
+            case SELECT:
+            case SELECT_PAGE:
+            case COUNT:
+            case EXISTS:
+                return cacheable(databaseEntityClass, selectedFields);
+            case UPDATE:
+            case DELETE:
+            case INSERT:
+            case UPSERT:
+                return cacheEvict(databaseEntityClass);
+            default:
+                // A stream is consumed once, there is nothing to cache
+                return "";
+        }
+    }
+
+    private static String cacheable(PsiClass databaseEntityClass, List<FieldWithCondition> selectedFields) {
+        List<String> keyParts = new ArrayList<>();
+        keyParts.add("#root.methodName");
+        for (FieldWithCondition fwc : selectedFields) {
+            keyParts.add("#entity." + fwc.getField().getName());
+        }
+        return "@Cacheable(cacheNames = \"" + cacheName(databaseEntityClass) + "\", key = \"{"
+                + String.join(", ", keyParts) + "}\")\n";
+    }
+
+    private static String cacheEvict(PsiClass databaseEntityClass) {
+        return "@CacheEvict(cacheNames = \"" + cacheName(databaseEntityClass) + "\", allEntries = true)\n";
+    }
+
+    private static String cacheName(PsiClass databaseEntityClass) {
+        String name = databaseEntityClass.getName();
+        return name.substring(0, 1).toLowerCase() + name.substring(1);
+    }
+
+    private SpringCacheAnnotations() {
+        throw new AssertionError("SpringCacheAnnotations is a utility class and should not be instantiated");
+    }
+}
@@ -0,0 +1,91 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.SqlType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Detects predicate shapes in a statement that force the database into a full scan. The analysis works on the
+ * selected fields rather than the rendered text, so it applies to every {@link SqlGenerator} alike.
+ */
+public class SqlAntiPatternAnalyzer {
+
+    public enum Kind {
+        OR_ACROSS_COLUMNS,
+        LEADING_WILDCARD_LIKE,
+        NOT_EQUAL,
+        UNBOUNDED_DML
+    }
+
+    public static class Finding {
+        private final Kind kind;
+        private final String message;
+
+        Finding(Kind kind, String message) {
+            this.kind = kind;
+            this.message = message;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    public List<Finding> analyze(List<FieldWithCondition> selectedFields, SqlType sqlType) {
+        List<Finding> findings = new ArrayList<>();
+        if (sqlType == SqlType.INSERT || sqlType == SqlType.UPSERT) {
+            return findings;
+        }
+        if ((sqlType == SqlType.UPDATE || sqlType == SqlType.DELETE) && selectedFields.isEmpty()) {
+            findings.add(new Finding(Kind.UNBOUNDED_DML,
+                    sqlType + " without predicates affects every row of the table"));
+        }
+        if (splitOrBranches(selectedFields).size() > 1
+                && selectedFields.stream().map(FieldWithCondition::getDatabaseField).distinct().count() > 1) {
+            findings.add(new Finding(Kind.OR_ACROSS_COLUMNS,
+                    "OR across different columns usually prevents index use; each OR branch can be a UNION branch"));
+        }
+        for (FieldWithCondition fwc : selectedFields) {
+            String condition = fwc.getCondition().toLowerCase();
+            if (condition.equals("like")) {
+                findings.add(new Finding(Kind.LEADING_WILDCARD_LIKE,
+                        fwc.getDatabaseField() + " LIKE '%...%' starts with a wildcard and scans every row; a prefix match can use an index"));
+            } else if (condition.equals("!=")) {
+                findings.add(new Finding(Kind.NOT_EQUAL,
+                        fwc.getDatabaseField() + " != cannot seek an index on that column and usually scans it"));
+            }
+        }
+        return findings;
+    }
+
+    /**
+     * Splits the fields at every OR connection. AND binds tighter than OR, so each branch is a conjunction and
+     * the statement matches the union of its branches. The first field of every branch is reconnected with AND.
+     */
+    public static List<List<FieldWithCondition>> splitOrBranches(List<FieldWithCondition> selectedFields) {
+        if (selectedFields.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<List<FieldWithCondition>> branches = new ArrayList<>();
+        List<FieldWithCondition> branch = new ArrayList<>();
+        for (FieldWithCondition fwc : selectedFields) {
+            boolean orConnected = "OR".equalsIgnoreCase(fwc.getConnection());
+            if (orConnected && !branch.isEmpty()) {
+                branches.add(branch);
+                branch = new ArrayList<>();
+            }
+            branch.add(orConnected
+                    ? new FieldWithCondition(fwc.getField(), fwc.getCondition(), "AND", fwc.getDatabaseField())
+                    : fwc);
+        }
+        branches.add(branch);
+        return branches;
+    }
+}
@@ -5,13 +5,41 @@ import com.dev.gear.type.OrmType;
 public class SqlGeneratorFactory {
 
     public static SqlGenerator createSqlGenerator(OrmType ormType) {
+        return createSqlGenerator(ormType, new GeneratorOptions());
+    }
+
+    public static SqlGenerator createSqlGenerator(OrmType ormType, GeneratorOptions options) {
+        SqlGenerator generator = new AnalyzingSqlGenerator(createExecutionModelSqlGenerator(ormType, options), ormType, options);
+        return new ShardKeySqlGenerator(generator, ormType, options);
+    }
+
+    /**
+     * MyBatis output is mapper XML, whose execution model is decided by the mapper interface, so only the
+     * Java generators get async and reactive variants.
+     */
+    private static SqlGenerator createExecutionModelSqlGenerator(OrmType ormType, GeneratorOptions options) {
+        if (ormType == OrmType.MYBATIS) {
+            return createOrmSqlGenerator(ormType, options);
+        }
+        switch (options.getExecutionModel()) {
+            case COMPLETABLE_FUTURE:
+            case VIRTUAL_THREADS:
+                return new AsyncSqlGenerator(createOrmSqlGenerator(ormType, options), options);
+            case REACTIVE:
+                return new R2dbcSqlGenerator(options);
+            default:
+                return createOrmSqlGenerator(ormType, options);
+        }
+    }
+
+    private static SqlGenerator createOrmSqlGenerator(OrmType ormType, GeneratorOptions options) {
         switch (ormType) {
             case MYBATIS:
-                return new MyBatisSqlGenerator();
+                return new MyBatisSqlGenerator(options);
             case MYBATIS_PLUS:
-                return new MyBatisPlusSqlGenerator();
+                return new MyBatisPlusSqlGenerator(options);
             case JPA:
-                return new JpaSqlGenerator();
+                return new JpaSqlGenerator(options);
             default:
                 throw new IllegalArgumentException("Unsupported ORM type: " + ormType);
         }
@@ -0,0 +1,156 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.SqlDialect;
+import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the dialect-specific insert-or-update statement shared by the MyBatis and MyBatis-Plus generators.
+ * The conflict target is the entity's {@code @TableId}/{@code @Id} fields, or its {@code @Column(unique = true)}
+ * fields when it has no id.
+ */
+class UpsertSqlBuilder {
+
+    private final SqlDialect dialect;
+    private final NamingStrategyService.EntityNames entityNames;
+
+    UpsertSqlBuilder(SqlDialect dialect, NamingStrategyService.EntityNames entityNames) {
+        this.dialect = dialect;
+        this.entityNames = entityNames;
+    }
+
+    /**
+     * @return the statement as lines without indentation
+     */
+    List<String> build(PsiClass databaseEntityClass, List<FieldWithCondition> selectedFields) {
+        Set<String> conflictFields = findConflictFields(databaseEntityClass);
+        Set<String> selectedDatabaseFields = selectedFields.stream()
+                .map(FieldWithCondition::getDatabaseField)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (conflictFields.isEmpty()) {
+            throw new IllegalArgumentException("UPSERT needs an @TableId, @Id or unique @Column field on " + databaseEntityClass.getName());
+        }
+        if (!selectedDatabaseFields.containsAll(conflictFields)) {
+            throw new IllegalArgumentException("UPSERT needs the key field(s) " + String.join(", ", conflictFields) + " to be selected");
+        }
+
+        List<String> columns = new ArrayList<>();
+        List<String> parameters = new ArrayList<>();
+        List<String> updateColumns = new ArrayList<>();
+        for (FieldWithCondition fwc : selectedFields) {
+            String column = entityNames.getColumnName(fwc.getDatabaseField());
+            columns.add(column);
+            parameters.add(MyBatisPlaceholders.placeholder(fwc.getField().getName(), fwc.getField().getType()));
+            if (!conflictFields.contains(fwc.getDatabaseField())) {
+                updateColumns.add(column);
+            }
+        }
+        List<String> keyColumns = conflictFields.stream()
+                .map(entityNames::getColumnName)
+                .collect(Collectors.toList());
+
+        switch (dialect) {
+            case POSTGRESQL:
+                return buildOnConflict(columns, parameters, keyColumns, updateColumns);
+            case ORACLE:
+            case H2:
+                return buildMerge(columns, parameters, keyColumns, updateColumns);
+            case MYSQL:
+            default:
+                return buildOnDuplicateKey(columns, parameters, keyColumns, updateColumns);
+        }
+    }
+
+    private List<String> buildOnDuplicateKey(List<String> columns, List<String> parameters,
+                                             List<String> keyColumns, List<String> updateColumns) {
+        List<String> lines = insertLines(columns, parameters);
+        lines.add("ON DUPLICATE KEY UPDATE");
+        if (updateColumns.isEmpty()) {
+            // Nothing to update: assigning the key to itself turns the conflict into a no-op
+            lines.add("    " + keyColumns.get(0) + " = " + keyColumns.get(0));
+        } else {
+            lines.add("    " + updateColumns.stream()
+                    .map(column -> column + " = VALUES(" + column + ")")
+                    .collect(Collectors.joining(",\n    ")));
+        }
+        return lines;
+    }
+
+    private List<String> buildOnConflict(List<String> columns, List<String> parameters,
+                                         List<String> keyColumns, List<String> updateColumns) {
+        List<String> lines = insertLines(columns, parameters);
+        String conflictTarget = "ON CONFLICT (" + String.join(", ", keyColumns) + ")";
+        if (updateColumns.isEmpty()) {
+            lines.add(conflictTarget + " DO NOTHING");
+        } else {
+            lines.add(conflictTarget + " DO UPDATE SET");
+            lines.add("    " + updateColumns.stream()
+                    .map(column -> column + " = EXCLUDED." + column)
+                    .collect(Collectors.joining(",\n    ")));
+        }
+        return lines;
+    }
+
+    private List<String> buildMerge(List<String> columns, List<String> parameters,
+                                    List<String> keyColumns, List<String> updateColumns) {
+        List<String> lines = new ArrayList<>();
+        List<String> sourceColumns = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            sourceColumns.add(parameters.get(i) + " AS " + columns.get(i));
+        }
+        lines.add("MERGE INTO " + entityNames.getTableName() + " target");
+        lines.add("USING (SELECT " + String.join(", ", sourceColumns) + " FROM DUAL) source");
+        lines.add("ON (" + keyColumns.stream()
+                .map(column -> "target." + column + " = source." + column)
+                .collect(Collectors.joining(" AND ")) + ")");
+        if (!updateColumns.isEmpty()) {
+            lines.add("WHEN MATCHED THEN UPDATE SET");
+            lines.add("    " + updateColumns.stream()
+                    .map(column -> "target." + column + " = source." + column)
+                    .collect(Collectors.joining(",\n    ")));
+        }
+        lines.add("WHEN NOT MATCHED THEN INSERT (" + String.join(", ", columns) + ")");
+        lines.add("    VALUES (" + columns.stream().map(column -> "source." + column).collect(Collectors.joining(", ")) + ")");
+        return lines;
+    }
+
+    private List<String> insertLines(List<String> columns, List<String> parameters) {
+        List<String> lines = new ArrayList<>();
+        lines.add("INSERT INTO " + entityNames.getTableName() + " (" + String.join(", ", columns) + ")");
+        lines.add("VALUES (" + String.join(", ", parameters) + ")");
+        return lines;
+    }
+
+    static Set<String> findConflictFields(PsiClass databaseEntityClass) {
+        Set<String> idFields = new LinkedHashSet<>();
+        Set<String> uniqueFields = new LinkedHashSet<>();
+        for (PsiField field : databaseEntityClass.getAllFields()) {
+            if (field.hasModifierProperty(PsiModifier.STATIC)) {
+                continue;
+            }
+            if (field.hasAnnotation("com.baomidou.mybatisplus.annotation.TableId")
+                    || field.hasAnnotation("javax.persistence.Id")
+                    || field.hasAnnotation("jakarta.persistence.Id")) {
+                idFields.add(field.getName());
+            } else if (isUniqueColumn(field.getAnnotation("javax.persistence.Column"))
+                    || isUniqueColumn(field.getAnnotation("jakarta.persistence.Column"))) {
+                uniqueFields.add(field.getName());
+            }
+        }
+        return idFields.isEmpty() ? uniqueFields : idFields;
+    }
+
+    private static boolean isUniqueColumn(PsiAnnotation column) {
+        return column != null && Boolean.TRUE.equals(AnnotationUtil.getBooleanAttributeValue(column, "unique"));
+    }
+}
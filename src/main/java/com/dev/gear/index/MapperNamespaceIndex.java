@@ -0,0 +1,99 @@
+package com.dev.gear.index;
+
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indexes every MyBatis mapper XML by the simple name of its namespace and by the types of its resultMaps, so the
+ * mapper of an entity is found without loading every XML file of the project.
+ */
+public class MapperNamespaceIndex extends ScalarIndexExtension<String> {
+
+    public static final ID<String, Void> NAME = ID.create("com.dev.gear.MapperNamespaceIndex");
+
+    private static final String RESULT_MAP_TYPE_PREFIX = "resultMap:";
+
+    /**
+     * @return the mapper files whose namespace ends with {@code simpleName}, e.g. {@code UserMapper}
+     */
+    public static Collection<VirtualFile> findByNamespace(Project project, String simpleName) {
+        return FileBasedIndex.getInstance().getContainingFiles(NAME, simpleName, GlobalSearchScope.projectScope(project));
+    }
+
+    /**
+     * @return the mapper files declaring a resultMap of the fully qualified type
+     */
+    public static Collection<VirtualFile> findByResultMapType(Project project, String type) {
+        return FileBasedIndex.getInstance().getContainingFiles(NAME, RESULT_MAP_TYPE_PREFIX + type, GlobalSearchScope.projectScope(project));
+    }
+
+    @Override
+    public @NotNull ID<String, Void> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, Void, FileContent> getIndexer() {
+        return inputData -> {
+            if (!inputData.getContentAsText().toString().contains("<mapper")) {
+                return Collections.emptyMap();
+            }
+            PsiFile psiFile = inputData.getPsiFile();
+            XmlTag rootTag = psiFile instanceof XmlFile ? ((XmlFile) psiFile).getRootTag() : null;
+            if (rootTag == null || !"mapper".equals(rootTag.getName())) {
+                return Collections.emptyMap();
+            }
+            Map<String, Void> keys = new HashMap<>();
+            String namespace = rootTag.getAttributeValue("namespace");
+            if (namespace != null) {
+                keys.put(namespace.substring(namespace.lastIndexOf('.') + 1), null);
+            }
+            for (XmlTag resultMap : rootTag.findSubTags("resultMap")) {
+                String type = resultMap.getAttributeValue("type");
+                if (type != null) {
+                    keys.put(RESULT_MAP_TYPE_PREFIX + type, null);
+                }
+            }
+            return keys;
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(XmlFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
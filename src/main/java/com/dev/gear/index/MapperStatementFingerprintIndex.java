@@ -0,0 +1,96 @@
+package com.dev.gear.index;
+
+import com.dev.gear.util.StatementFingerprint;
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes the statements of every MyBatis mapper XML by {@link StatementFingerprint}, with {@code namespace.id}
+ * as the value, so a generated statement that already exists elsewhere can be found and reused.
+ */
+public class MapperStatementFingerprintIndex extends FileBasedIndexExtension<String, String> {
+
+    public static final ID<String, String> NAME = ID.create("com.dev.gear.MapperStatementFingerprintIndex");
+
+    /**
+     * @return {@code namespace.id} of every statement with the fingerprint
+     */
+    public static List<String> findStatements(Project project, String fingerprint) {
+        return FileBasedIndex.getInstance().getValues(NAME, fingerprint, GlobalSearchScope.projectScope(project));
+    }
+
+    @Override
+    public @NotNull ID<String, String> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, String, FileContent> getIndexer() {
+        return inputData -> {
+            if (!inputData.getContentAsText().toString().contains("<mapper")) {
+                return Collections.emptyMap();
+            }
+            PsiFile psiFile = inputData.getPsiFile();
+            XmlTag rootTag = psiFile instanceof XmlFile ? ((XmlFile) psiFile).getRootTag() : null;
+            if (rootTag == null || !"mapper".equals(rootTag.getName())) {
+                return Collections.emptyMap();
+            }
+            String namespace = rootTag.getAttributeValue("namespace");
+            if (namespace == null) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> statements = new HashMap<>();
+            for (XmlTag tag : rootTag.getSubTags()) {
+                String id = tag.getAttributeValue("id");
+                if (id != null && MapperStatementIndex.STATEMENT_TAGS.contains(tag.getName()) && !"sql".equals(tag.getName())) {
+                    statements.putIfAbsent(StatementFingerprint.of(tag.getText()), MapperStatementIndex.getKey(namespace, id));
+                }
+            }
+            return statements;
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<String> getValueExternalizer() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(XmlFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
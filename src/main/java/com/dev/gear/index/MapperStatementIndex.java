@@ -0,0 +1,99 @@
+package com.dev.gear.index;
+
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes the statements of every MyBatis mapper XML by {@code namespace.id}. The platform re-indexes only the
+ * files that changed, so lookups never rescan all mappers.
+ */
+public class MapperStatementIndex extends ScalarIndexExtension<String> {
+
+    public static final ID<String, Void> NAME = ID.create("com.dev.gear.MapperStatementIndex");
+
+    public static final Set<String> STATEMENT_TAGS = new HashSet<>(Arrays.asList("select", "insert", "update", "delete", "sql"));
+
+    public static String getKey(String namespace, String id) {
+        return namespace + "." + id;
+    }
+
+    /**
+     * @return the mapper files that declare the statement
+     */
+    public static Collection<VirtualFile> findFiles(Project project, String namespace, String id) {
+        return FileBasedIndex.getInstance().getContainingFiles(NAME, getKey(namespace, id), GlobalSearchScope.projectScope(project));
+    }
+
+    @Override
+    public @NotNull ID<String, Void> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, Void, FileContent> getIndexer() {
+        return inputData -> {
+            if (!inputData.getContentAsText().toString().contains("<mapper")) {
+                return Collections.emptyMap();
+            }
+            PsiFile psiFile = inputData.getPsiFile();
+            XmlTag rootTag = psiFile instanceof XmlFile ? ((XmlFile) psiFile).getRootTag() : null;
+            if (rootTag == null || !"mapper".equals(rootTag.getName())) {
+                return Collections.emptyMap();
+            }
+            String namespace = rootTag.getAttributeValue("namespace");
+            if (namespace == null) {
+                return Collections.emptyMap();
+            }
+            Map<String, Void> statements = new HashMap<>();
+            for (XmlTag tag : rootTag.getSubTags()) {
+                String id = tag.getAttributeValue("id");
+                if (id != null && STATEMENT_TAGS.contains(tag.getName())) {
+                    statements.put(getKey(namespace, id), null);
+                }
+            }
+            return statements;
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(XmlFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
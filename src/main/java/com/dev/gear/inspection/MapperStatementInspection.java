@@ -0,0 +1,106 @@
+package com.dev.gear.inspection;
+
+import com.dev.gear.SqlGeneratorProjectService;
+import com.dev.gear.generator.NamingStrategyService;
+import com.dev.gear.index.MapperStatementIndex;
+import com.dev.gear.util.MapperXmlUtil;
+import com.dev.gear.util.SqlColumnExtractor;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.XmlElementVisitor;
+import com.intellij.psi.xml.XmlAttribute;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Flags mapper statements whose id is declared more than once for the same namespace, and statements that
+ * reference columns the mapper's entity no longer has. Other mappers are only consulted through
+ * {@link MapperStatementIndex}.
+ */
+public class MapperStatementInspection extends LocalInspectionTool {
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        return new XmlElementVisitor() {
+            @Override
+            public void visitXmlTag(@NotNull XmlTag tag) {
+                XmlTag rootTag = tag.getParentTag();
+                XmlAttribute idAttribute = tag.getAttribute("id");
+                if (rootTag == null || rootTag.getParentTag() != null || !"mapper".equals(rootTag.getName())
+                        || idAttribute == null || idAttribute.getValue() == null
+                        || !MapperStatementIndex.STATEMENT_TAGS.contains(tag.getName())) {
+                    return;
+                }
+                String namespace = rootTag.getAttributeValue("namespace");
+                if (namespace == null) {
+                    return;
+                }
+                PsiElement anchor = idAttribute.getValueElement() != null ? idAttribute.getValueElement() : idAttribute;
+                checkDuplicates(holder, tag, rootTag, namespace, idAttribute.getValue(), anchor);
+                if (!"sql".equals(tag.getName())) {
+                    checkColumns(holder, tag, anchor);
+                }
+            }
+        };
+    }
+
+    private void checkDuplicates(ProblemsHolder holder, XmlTag tag, XmlTag rootTag, String namespace, String id, PsiElement anchor) {
+        for (XmlTag sibling : rootTag.getSubTags()) {
+            if (sibling != tag && id.equals(sibling.getAttributeValue("id"))
+                    && MapperStatementIndex.STATEMENT_TAGS.contains(sibling.getName())) {
+                holder.registerProblem(anchor, "Statement id '" + id + "' is declared more than once in this mapper");
+                return;
+            }
+        }
+
+        VirtualFile currentFile = tag.getContainingFile().getOriginalFile().getVirtualFile();
+        Collection<VirtualFile> files = MapperStatementIndex.findFiles(tag.getProject(), namespace, id);
+        String otherFiles = files.stream()
+                .filter(file -> !file.equals(currentFile))
+                .map(VirtualFile::getName)
+                .collect(Collectors.joining(", "));
+        if (!otherFiles.isEmpty()) {
+            holder.registerProblem(anchor, "Statement '" + namespace + "." + id + "' is also declared in " + otherFiles);
+        }
+    }
+
+    private void checkColumns(ProblemsHolder holder, XmlTag tag, PsiElement anchor) {
+        PsiClass entityClass = MapperXmlUtil.findEntityClass((XmlFile) tag.getContainingFile());
+        if (entityClass == null) {
+            return;
+        }
+        NamingStrategyService.EntityNames entityNames = new NamingStrategyService(
+                SqlGeneratorProjectService.getInstance(tag.getProject()).getState().getOptions()).getEntityNames(entityClass);
+
+        SqlColumnExtractor.Result sql = SqlColumnExtractor.extract(tag);
+        // Statements touching other tables (joins, sub-queries) cannot be checked against a single entity
+        String tableName = entityNames.getTableName().toLowerCase(Locale.ROOT);
+        if (sql.tables.isEmpty() || sql.tables.stream().anyMatch(table -> !table.equals(tableName))) {
+            return;
+        }
+
+        Set<String> entityColumns = new HashSet<>();
+        for (String columnName : entityNames.getColumnNames()) {
+            entityColumns.add(columnName.toLowerCase(Locale.ROOT));
+        }
+        String staleColumns = sql.columns.stream()
+                .filter(column -> !entityColumns.contains(column))
+                .collect(Collectors.joining(", "));
+        if (!staleColumns.isEmpty()) {
+            holder.registerProblem(anchor, "Columns not mapped by " + entityClass.getName() + ": " + staleColumns,
+                    ProblemHighlightType.WARNING);
+        }
+    }
+}
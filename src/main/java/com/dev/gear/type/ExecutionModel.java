@@ -0,0 +1,20 @@
+package com.dev.gear.type;
+
+public enum ExecutionModel {
+    /**
+     * Plain methods that block the calling thread.
+     */
+    BLOCKING,
+    /**
+     * Blocking methods plus {@code CompletableFuture} variants running on a configurable executor.
+     */
+    COMPLETABLE_FUTURE,
+    /**
+     * Blocking methods plus {@code CompletableFuture} variants running on a virtual thread per task.
+     */
+    VIRTUAL_THREADS,
+    /**
+     * Spring Data R2DBC queries returning {@code Flux} or {@code Mono}.
+     */
+    REACTIVE
+}
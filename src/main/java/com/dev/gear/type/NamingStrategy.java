@@ -0,0 +1,18 @@
+package com.dev.gear.type;
+
+public enum NamingStrategy {
+    SNAKE_CASE, UPPER_SNAKE_CASE;
+
+    public String apply(String name) {
+        StringBuilder physicalName = new StringBuilder(name.length() + 4);
+        boolean upperCase = this == UPPER_SNAKE_CASE;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (i > 0 && Character.isUpperCase(c) && Character.isLowerCase(name.charAt(i - 1))) {
+                physicalName.append('_');
+            }
+            physicalName.append(upperCase ? Character.toUpperCase(c) : Character.toLowerCase(c));
+        }
+        return physicalName.toString();
+    }
+}
@@ -1,6 +1,21 @@
 package com.dev.gear.type;
+
+import java.util.Arrays;
+import java.util.List;
+
 public enum OrmType {
     MYBATIS,
     MYBATIS_PLUS,
-    JPA
-}
\ No newline at end of file
+    JPA;
+
+    /**
+     * @return the statement types generated for this ORM, JPA Specifications cannot insert
+     */
+    public List<SqlType> getSupportedSqlTypes() {
+        if (this == JPA) {
+            return Arrays.asList(SqlType.SELECT, SqlType.SELECT_PAGE, SqlType.SELECT_STREAM, SqlType.UPDATE,
+                    SqlType.DELETE, SqlType.COUNT, SqlType.EXISTS);
+        }
+        return Arrays.asList(SqlType.values());
+    }
+}
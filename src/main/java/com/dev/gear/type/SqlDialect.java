@@ -0,0 +1,5 @@
+package com.dev.gear.type;
+
+public enum SqlDialect {
+    MYSQL, POSTGRESQL, ORACLE, H2
+}
@@ -0,0 +1,13 @@
+package com.dev.gear.type;
+
+public enum SqlShapeMode {
+    /**
+     * Every optional field is wrapped in {@code <if test>}, so the statement text depends on which fields are set.
+     */
+    DYNAMIC,
+    /**
+     * Optional fields are rendered as null-tolerant predicates, so the statement text stays the same
+     * for every combination of set fields and is cached once by the driver and the database.
+     */
+    STABLE
+}
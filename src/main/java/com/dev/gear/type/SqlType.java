@@ -1,7 +1,7 @@
 package com.dev.gear.type;
 
 public enum SqlType {
-    SELECT, SELECT_PAGE, UPDATE, DELETE, INSERT
+    SELECT, SELECT_PAGE, SELECT_STREAM, UPDATE, DELETE, INSERT, UPSERT, COUNT, EXISTS
 }
 
 
@@ -2,6 +2,8 @@ package com.dev.gear.util;
 
 import com.intellij.icons.AllIcons;
 import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectRootManager;
@@ -20,6 +22,7 @@ import com.intellij.ui.components.JBTextField;
 import com.intellij.util.ui.JBUI;
 import com.intellij.util.ui.UIUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.VisibleForTesting;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
@@ -35,14 +38,25 @@ public class ClassChooserUtil {
     private static final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
     private static final Queue<Project> projectInitQueue = new ConcurrentLinkedQueue<>();
     private static final Map<Project, SoftReference<List<PsiClass>>> projectClassCache = new ConcurrentHashMap<>();
+    private static final Map<Project, SoftReference<FieldSimilarityIndex>> projectSimilarityIndex = new ConcurrentHashMap<>();
+    private static final int MAX_SUGGESTIONS = 10;
     private static final Map<Project, ScheduledFuture<?>> refreshTasks = new ConcurrentHashMap<>();
 
     public static void initialize(Project project) {
+        initialize(project, project);
+    }
+
+    /**
+     * @param parentDisposable disposes the VFS listener; the project in production, the test root in tests, where
+     *                         the light project outlives each test
+     */
+    @VisibleForTesting
+    static void initialize(Project project, Disposable parentDisposable) {
         projectInitQueue.offer(project);
         if (projectInitQueue.size() == 1) {
             scheduleNextInitialization();
         }
-        setupVirtualFileListener(project);
+        setupVirtualFileListener(project, parentDisposable);
     }
 
     private static void scheduleNextInitialization() {
@@ -55,8 +69,9 @@ public class ClassChooserUtil {
         }, 100, TimeUnit.MILLISECONDS);
     }
 
-    private static void refreshProjectClassCache(Project project) {
-        DumbService.getInstance(project).runWhenSmart(() -> {
+    @VisibleForTesting
+    static void refreshProjectClassCache(Project project) {
+        DumbService.getInstance(project).runWhenSmart(() -> ReadAction.run(() -> {
             List<PsiClass> newClasses = new ArrayList<>();
             PsiManager psiManager = PsiManager.getInstance(project);
             ProjectRootManager.getInstance(project).getFileIndex().iterateContent(fileOrDir -> {
@@ -71,20 +86,22 @@ public class ClassChooserUtil {
             });
 
             cacheClasses(project, newClasses);
-        });
+        }));
     }
 
     private static void cacheClasses(Project project, List<PsiClass> classes) {
         projectClassCache.put(project, new SoftReference<>(classes));
+        projectSimilarityIndex.put(project, new SoftReference<>(new FieldSimilarityIndex(classes)));
     }
 
-    private static List<PsiClass> getCachedClasses(Project project) {
+    @VisibleForTesting
+    static List<PsiClass> getCachedClasses(Project project) {
         SoftReference<List<PsiClass>> ref = projectClassCache.get(project);
         return ref != null ? ref.get() : null;
     }
 
-    private static void setupVirtualFileListener(Project project) {
-        project.getMessageBus().connect().subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+    private static void setupVirtualFileListener(Project project, Disposable parentDisposable) {
+        project.getMessageBus().connect(parentDisposable).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
             @Override
             public void after(@NotNull List<? extends VFileEvent> events) {
                 for (VFileEvent event : events) {
@@ -136,7 +153,18 @@ public class ClassChooserUtil {
         }
     }
 
-    private static Map<String, List<PsiClass>> findMatchingClasses(Project project, String className, boolean fuzzyMatch) {
+    /**
+     * @return the cached classes sharing the most field names with {@code selectedClass}, best match first
+     */
+    @VisibleForTesting
+    static List<PsiClass> suggestDatabaseEntityClasses(Project project, PsiClass selectedClass) {
+        SoftReference<FieldSimilarityIndex> ref = projectSimilarityIndex.get(project);
+        FieldSimilarityIndex index = ref != null ? ref.get() : null;
+        return index != null ? index.findSimilarClasses(selectedClass, MAX_SUGGESTIONS) : Collections.emptyList();
+    }
+
+    @VisibleForTesting
+    static Map<String, List<PsiClass>> findMatchingClasses(Project project, String className, boolean fuzzyMatch) {
         List<PsiClass> allClasses = getCachedClasses(project);
         if (allClasses == null) {
             return Collections.emptyMap();
@@ -181,6 +209,11 @@ public class ClassChooserUtil {
 
             setupSearchField(selectedClassSearchField, selectedClassTree, selectedClassTreeModel);
             setupSearchField(databaseEntityClassSearchField, databaseEntityClassTree, databaseEntityClassTreeModel);
+            selectedClassTree.addTreeSelectionListener(e -> {
+                if (databaseEntityClassSearchField.getText().isEmpty()) {
+                    updateClassTree(databaseEntityClassSearchField, databaseEntityClassTree, databaseEntityClassTreeModel);
+                }
+            });
 
             init();
             setTitle("Choose Classes");
@@ -298,6 +331,8 @@ public class ClassChooserUtil {
                     }
                     root.add(packageNode);
                 }
+            } else if (tree == databaseEntityClassTree) {
+                addSuggestedClasses(root);
             }
 
             treeModel.reload();
@@ -320,6 +355,24 @@ public class ClassChooserUtil {
             }
         }
 
+        /**
+         * Lists the entities suggested for the chosen Selected Class, in rank order, while no entity is searched for.
+         */
+        private void addSuggestedClasses(DefaultMutableTreeNode root) {
+            PsiClass selectedClass = getSelectedPsiClass(selectedClassTree);
+            if (selectedClass == null) {
+                return;
+            }
+            List<PsiClass> suggestions = suggestDatabaseEntityClasses(project, selectedClass);
+            if (!suggestions.isEmpty()) {
+                DefaultMutableTreeNode suggestionNode = new DefaultMutableTreeNode("Suggested by shared fields");
+                for (PsiClass psiClass : suggestions) {
+                    suggestionNode.add(new DefaultMutableTreeNode(psiClass));
+                }
+                root.add(suggestionNode);
+            }
+        }
+
         public SelectedClasses getSelectedClasses() {
             return isOK() ? new SelectedClasses(
                 getSelectedPsiClass(selectedClassTree),
@@ -0,0 +1,60 @@
+package com.dev.gear.util;
+
+import com.dev.gear.generator.NamingStrategyService;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Matches DTO fields to entity fields through a lookup table built once per entity. Keys are normalized
+ * (lower case, without underscores), so {@code userName}, {@code USER_NAME} and {@code user_name} all match,
+ * and {@code @TableField}/{@code @Column} names are registered next to the field names.
+ */
+public class FieldMatcher {
+
+    private final Map<String, String> fieldsByKey = new HashMap<>();
+
+    public FieldMatcher(PsiField[] databaseEntityFields) {
+        // Field names are registered first so they win over a colliding annotation name
+        for (PsiField field : databaseEntityFields) {
+            if (!field.hasModifierProperty(PsiModifier.STATIC)) {
+                fieldsByKey.putIfAbsent(normalize(field.getName()), field.getName());
+            }
+        }
+        for (PsiField field : databaseEntityFields) {
+            if (!field.hasModifierProperty(PsiModifier.STATIC)) {
+                String columnName = NamingStrategyService.findAnnotatedColumnName(field);
+                if (columnName != null) {
+                    fieldsByKey.putIfAbsent(normalize(columnName), field.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the name of the matching entity field, or {@code null} when there is none
+     */
+    public String findMatchingField(PsiField field) {
+        String match = fieldsByKey.get(normalize(field.getName()));
+        if (match == null) {
+            String columnName = NamingStrategyService.findAnnotatedColumnName(field);
+            if (columnName != null) {
+                match = fieldsByKey.get(normalize(columnName));
+            }
+        }
+        return match;
+    }
+
+    static String normalize(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '_' && c != '`') {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+}
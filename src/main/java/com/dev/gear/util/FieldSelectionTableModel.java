@@ -0,0 +1,185 @@
+package com.dev.gear.util;
+
+import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.ConditionType;
+import com.dev.gear.type.ConnectionType;
+import com.intellij.psi.PsiField;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Field selection table backed by one array per column instead of a row vector per field. Rows can be filtered
+ * by field name and bulk-(de)selected with a single change event, which keeps entities with thousands of
+ * fields responsive.
+ */
+public class FieldSelectionTableModel extends AbstractTableModel {
+
+    public static final int FIELD_COLUMN = 0;
+    public static final int TYPE_COLUMN = 1;
+    public static final int INCLUDE_COLUMN = 2;
+    public static final int CONDITION_COLUMN = 3;
+    public static final int CONNECTION_COLUMN = 4;
+    public static final int DATABASE_FIELD_COLUMN = 5;
+
+    private static final String[] COLUMN_NAMES = {"Field", "Type", "Where Include", "Condition", "Connection", "Database Entity Field"};
+
+    private PsiField[] fields = new PsiField[0];
+    private String[] fieldNames = new String[0];
+    private String[] lowerCaseFieldNames = new String[0];
+    private String[] typeNames = new String[0];
+    private final BitSet included = new BitSet();
+    private String[] conditions = new String[0];
+    private String[] connections = new String[0];
+    private String[] databaseFields = new String[0];
+    // View row -> field index; identity when no filter is applied
+    private int[] visibleRows = new int[0];
+    private String filter = "";
+
+    public void setFields(PsiField[] newFields, String[] matchingDatabaseFields) {
+        int size = newFields.length;
+        fields = newFields;
+        fieldNames = new String[size];
+        lowerCaseFieldNames = new String[size];
+        typeNames = new String[size];
+        conditions = new String[size];
+        connections = new String[size];
+        databaseFields = matchingDatabaseFields;
+        included.clear();
+        for (int i = 0; i < size; i++) {
+            fieldNames[i] = newFields[i].getName();
+            lowerCaseFieldNames[i] = fieldNames[i].toLowerCase(Locale.ROOT);
+            typeNames[i] = newFields[i].getType().getPresentableText();
+            conditions[i] = ConditionType.EQUALS.getSymbol();
+            connections[i] = ConnectionType.AND.name();
+        }
+        applyFilter();
+        fireTableDataChanged();
+    }
+
+    public void clear() {
+        setFields(new PsiField[0], new String[0]);
+    }
+
+    /**
+     * Shows only the fields whose name contains the given text; an empty text shows all fields.
+     */
+    public void setFilter(String text) {
+        filter = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        applyFilter();
+        fireTableDataChanged();
+    }
+
+    private void applyFilter() {
+        if (filter.isEmpty()) {
+            visibleRows = identity(fields.length);
+        } else {
+            int[] rows = new int[fields.length];
+            int count = 0;
+            for (int i = 0; i < lowerCaseFieldNames.length; i++) {
+                if (lowerCaseFieldNames[i].contains(filter)) {
+                    rows[count++] = i;
+                }
+            }
+            visibleRows = Arrays.copyOf(rows, count);
+        }
+    }
+
+    /**
+     * Includes or excludes every visible row in the where clause.
+     */
+    public void setVisibleRowsIncluded(boolean include) {
+        for (int row : visibleRows) {
+            included.set(row, include);
+        }
+        fireTableDataChanged();
+    }
+
+    public List<FieldWithCondition> getSelectedFields() {
+        List<FieldWithCondition> selectedFields = new ArrayList<>(included.cardinality());
+        for (int i = included.nextSetBit(0); i >= 0; i = included.nextSetBit(i + 1)) {
+            selectedFields.add(new FieldWithCondition(fields[i], conditions[i], connections[i], databaseFields[i]));
+        }
+        return selectedFields;
+    }
+
+    @Override
+    public int getRowCount() {
+        return visibleRows.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnIndex == INCLUDE_COLUMN ? Boolean.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return column >= INCLUDE_COLUMN;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int i = visibleRows[rowIndex];
+        switch (columnIndex) {
+            case FIELD_COLUMN:
+                return fieldNames[i];
+            case TYPE_COLUMN:
+                return typeNames[i];
+            case INCLUDE_COLUMN:
+                return included.get(i);
+            case CONDITION_COLUMN:
+                return conditions[i];
+            case CONNECTION_COLUMN:
+                return connections[i];
+            case DATABASE_FIELD_COLUMN:
+                return databaseFields[i];
+            default:
+                throw new IllegalArgumentException("Unknown column: " + columnIndex);
+        }
+    }
+
+    @Override
+    public void setValueAt(Object value, int rowIndex, int columnIndex) {
+        int i = visibleRows[rowIndex];
+        switch (columnIndex) {
+            case INCLUDE_COLUMN:
+                included.set(i, Boolean.TRUE.equals(value));
+                break;
+            case CONDITION_COLUMN:
+                conditions[i] = String.valueOf(value);
+                break;
+            case CONNECTION_COLUMN:
+                connections[i] = String.valueOf(value);
+                break;
+            case DATABASE_FIELD_COLUMN:
+                databaseFields[i] = value == null ? "" : String.valueOf(value);
+                break;
+            default:
+                return;
+        }
+        fireTableCellUpdated(rowIndex, columnIndex);
+    }
+
+    private static int[] identity(int size) {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,138 @@
+package com.dev.gear.util;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the classes whose field names overlap most with a given class. Each class gets a MinHash signature of its
+ * normalized field-name set, split into bands that are bucketed by hash (locality-sensitive hashing): classes with
+ * similar field sets collide in at least one band with high probability, so a query only ranks the classes sharing
+ * a bucket with it instead of comparing against every class.
+ */
+class FieldSimilarityIndex {
+
+    // 16 bands of 2 rows make a pair with Jaccard similarity 0.25 a candidate about 2 times in 3, and 0.5 nearly always
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = 2;
+    private static final int MIN_FIELDS = 2;
+    private static final int[] SEEDS = new Random(0x5EED).ints(BANDS * ROWS_PER_BAND).toArray();
+
+    private final List<PsiClass> classes = new ArrayList<>();
+    private final List<Map<Long, List<Integer>>> buckets = new ArrayList<>(BANDS);
+
+    FieldSimilarityIndex(List<PsiClass> candidates) {
+        for (int band = 0; band < BANDS; band++) {
+            buckets.add(new HashMap<>());
+        }
+        for (PsiClass psiClass : candidates) {
+            if (psiClass.isInterface() || psiClass.isEnum() || psiClass.isAnnotationType()) {
+                continue;
+            }
+            Set<String> fieldNames = getFieldNames(psiClass);
+            if (fieldNames.size() < MIN_FIELDS) {
+                continue;
+            }
+            int classIndex = classes.size();
+            classes.add(psiClass);
+            int[] signature = signature(fieldNames);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.get(band).computeIfAbsent(bandKey(signature, band), k -> new ArrayList<>()).add(classIndex);
+            }
+        }
+    }
+
+    /**
+     * @return up to {@code limit} classes sharing fields with {@code psiClass}, most shared fields first and the
+     * smaller class first among equals
+     */
+    List<PsiClass> findSimilarClasses(PsiClass psiClass, int limit) {
+        Set<String> fieldNames = getFieldNames(psiClass);
+        if (fieldNames.size() < MIN_FIELDS) {
+            return Collections.emptyList();
+        }
+        int[] signature = signature(fieldNames);
+        Set<Integer> candidateIndexes = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            candidateIndexes.addAll(buckets.get(band).getOrDefault(bandKey(signature, band), Collections.emptyList()));
+        }
+
+        Map<PsiClass, Set<String>> candidates = new HashMap<>();
+        for (int classIndex : candidateIndexes) {
+            PsiClass candidate = classes.get(classIndex);
+            if (candidate.isValid() && !Objects.equals(candidate.getQualifiedName(), psiClass.getQualifiedName())) {
+                candidates.put(candidate, getFieldNames(candidate));
+            }
+        }
+        return candidates.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<PsiClass, Set<String>> entry) -> -overlap(fieldNames, entry.getValue()))
+                        .thenComparingInt(entry -> entry.getValue().size()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static Set<String> getFieldNames(PsiClass psiClass) {
+        Set<String> fieldNames = new LinkedHashSet<>();
+        for (PsiField field : psiClass.getAllFields()) {
+            if (!field.hasModifierProperty(PsiModifier.STATIC)) {
+                fieldNames.add(FieldMatcher.normalize(field.getName()));
+            }
+        }
+        return fieldNames;
+    }
+
+    private static int overlap(Set<String> fieldNames, Set<String> otherFieldNames) {
+        int overlap = 0;
+        for (String fieldName : fieldNames) {
+            if (otherFieldNames.contains(fieldName)) {
+                overlap++;
+            }
+        }
+        return overlap;
+    }
+
+    private static int[] signature(Set<String> fieldNames) {
+        int[] signature = new int[SEEDS.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String fieldName : fieldNames) {
+            int hash = fieldName.hashCode();
+            for (int i = 0; i < SEEDS.length; i++) {
+                signature[i] = Math.min(signature[i], mix(hash ^ SEEDS[i]));
+            }
+        }
+        return signature;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int row = 0; row < ROWS_PER_BAND; row++) {
+            key = key * 31 + signature[band * ROWS_PER_BAND + row];
+        }
+        return key;
+    }
+
+    // MurmurHash3 finalizer, spreads the seeded field hashes into independent-looking permutations
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,103 @@
+package com.dev.gear.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class JdbcTypeUtil {
+
+    private static final Map<String, String> JAVA_TO_JDBC_TYPES = new HashMap<>();
+    private static final Map<String, String> SQL_TO_JDBC_TYPES = new HashMap<>();
+    private static final Set<String> NUMERIC_TYPES = new HashSet<>(Arrays.asList(
+            "BIGINT", "INTEGER", "SMALLINT", "TINYINT", "DECIMAL", "NUMERIC", "DOUBLE", "FLOAT", "REAL"));
+    private static final Set<String> STRING_TYPES = new HashSet<>(Arrays.asList(
+            "VARCHAR", "CHAR", "LONGVARCHAR", "NVARCHAR", "NCHAR", "CLOB"));
+    private static final Set<String> TEMPORAL_TYPES = new HashSet<>(Arrays.asList("TIMESTAMP", "DATE", "TIME"));
+
+    static {
+        JAVA_TO_JDBC_TYPES.put("String", "VARCHAR");
+        JAVA_TO_JDBC_TYPES.put("char", "CHAR");
+        JAVA_TO_JDBC_TYPES.put("Character", "CHAR");
+        JAVA_TO_JDBC_TYPES.put("long", "BIGINT");
+        JAVA_TO_JDBC_TYPES.put("Long", "BIGINT");
+        JAVA_TO_JDBC_TYPES.put("int", "INTEGER");
+        JAVA_TO_JDBC_TYPES.put("Integer", "INTEGER");
+        JAVA_TO_JDBC_TYPES.put("short", "SMALLINT");
+        JAVA_TO_JDBC_TYPES.put("Short", "SMALLINT");
+        JAVA_TO_JDBC_TYPES.put("byte", "TINYINT");
+        JAVA_TO_JDBC_TYPES.put("Byte", "TINYINT");
+        JAVA_TO_JDBC_TYPES.put("boolean", "BOOLEAN");
+        JAVA_TO_JDBC_TYPES.put("Boolean", "BOOLEAN");
+        JAVA_TO_JDBC_TYPES.put("double", "DOUBLE");
+        JAVA_TO_JDBC_TYPES.put("Double", "DOUBLE");
+        JAVA_TO_JDBC_TYPES.put("float", "FLOAT");
+        JAVA_TO_JDBC_TYPES.put("Float", "FLOAT");
+        JAVA_TO_JDBC_TYPES.put("BigDecimal", "DECIMAL");
+        JAVA_TO_JDBC_TYPES.put("BigInteger", "BIGINT");
+        JAVA_TO_JDBC_TYPES.put("Date", "TIMESTAMP");
+        JAVA_TO_JDBC_TYPES.put("Timestamp", "TIMESTAMP");
+        JAVA_TO_JDBC_TYPES.put("LocalDateTime", "TIMESTAMP");
+        JAVA_TO_JDBC_TYPES.put("LocalDate", "DATE");
+        JAVA_TO_JDBC_TYPES.put("LocalTime", "TIME");
+        JAVA_TO_JDBC_TYPES.put("byte[]", "VARBINARY");
+
+        SQL_TO_JDBC_TYPES.put("INT", "INTEGER");
+        SQL_TO_JDBC_TYPES.put("MEDIUMINT", "INTEGER");
+        SQL_TO_JDBC_TYPES.put("NUMBER", "DECIMAL");
+        SQL_TO_JDBC_TYPES.put("DATETIME", "TIMESTAMP");
+        SQL_TO_JDBC_TYPES.put("VARCHAR2", "VARCHAR");
+        SQL_TO_JDBC_TYPES.put("TEXT", "LONGVARCHAR");
+        SQL_TO_JDBC_TYPES.put("MEDIUMTEXT", "LONGVARCHAR");
+        SQL_TO_JDBC_TYPES.put("LONGTEXT", "LONGVARCHAR");
+        SQL_TO_JDBC_TYPES.put("BOOL", "BOOLEAN");
+        SQL_TO_JDBC_TYPES.put("BIT", "BOOLEAN");
+    }
+
+    /**
+     * Returns the JDBC type for a presentable Java type name, or {@code null} when there is no obvious mapping.
+     */
+    public static String getJdbcType(String typeName) {
+        return JAVA_TO_JDBC_TYPES.get(typeName);
+    }
+
+    /**
+     * Returns the JDBC type of a column definition such as {@code varchar(64) not null}, or {@code null} when
+     * the definition does not start with a known SQL type.
+     */
+    public static String getJdbcTypeOfColumnDefinition(String columnDefinition) {
+        String sqlType = columnDefinition.trim().split("[\\s(]", 2)[0].toUpperCase();
+        String jdbcType = SQL_TO_JDBC_TYPES.getOrDefault(sqlType, sqlType);
+        return isKnownJdbcType(jdbcType) ? jdbcType : null;
+    }
+
+    /**
+     * Whether comparing a parameter of one JDBC type with a column of the other makes the database convert
+     * the column value, which keeps it from using an index on that column.
+     */
+    public static boolean isImplicitConversion(String parameterJdbcType, String columnJdbcType) {
+        String parameterFamily = getTypeFamily(parameterJdbcType);
+        String columnFamily = getTypeFamily(columnJdbcType);
+        return parameterFamily != null && columnFamily != null && !parameterFamily.equals(columnFamily);
+    }
+
+    private static String getTypeFamily(String jdbcType) {
+        if (NUMERIC_TYPES.contains(jdbcType)) {
+            return "numeric";
+        } else if (STRING_TYPES.contains(jdbcType)) {
+            return "string";
+        } else if (TEMPORAL_TYPES.contains(jdbcType)) {
+            return "temporal";
+        }
+        return null;
+    }
+
+    private static boolean isKnownJdbcType(String jdbcType) {
+        return getTypeFamily(jdbcType) != null || JAVA_TO_JDBC_TYPES.containsValue(jdbcType);
+    }
+
+    private JdbcTypeUtil() {
+        throw new AssertionError("JdbcTypeUtil is a utility class and should not be instantiated");
+    }
+}
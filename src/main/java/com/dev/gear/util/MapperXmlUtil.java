@@ -0,0 +1,129 @@
+package com.dev.gear.util;
+
+import com.dev.gear.index.MapperNamespaceIndex;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.PsiShortNamesCache;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class MapperXmlUtil {
+
+    public static final String BASE_RESULT_MAP = "BaseResultMap";
+    public static final String BASE_COLUMN_LIST = "Base_Column_List";
+
+    /**
+     * Finds the mapper XML an entity's statements belong to: the one whose namespace is {@code <Entity>Mapper},
+     * otherwise the first one declaring a resultMap of the entity type. Candidates come from
+     * {@link MapperNamespaceIndex}, so only the matching files are loaded. Returns {@code null} while indexing.
+     */
+    public static XmlFile findTargetMapper(Project project, PsiClass entityClass) {
+        if (DumbService.isDumb(project)) {
+            return null;
+        }
+        String mapperName = entityClass.getName() + "Mapper";
+        for (XmlFile mapper : findMappers(project, MapperNamespaceIndex.findByNamespace(project, mapperName))) {
+            String namespace = mapper.getRootTag().getAttributeValue("namespace");
+            if (namespace != null && (namespace.equals(mapperName) || namespace.endsWith("." + mapperName))) {
+                return mapper;
+            }
+        }
+        String type = entityClass.getQualifiedName();
+        if (type == null) {
+            return null;
+        }
+        for (XmlFile mapper : findMappers(project, MapperNamespaceIndex.findByResultMapType(project, type))) {
+            if (findResultMapId(mapper, type) != null) {
+                return mapper;
+            }
+        }
+        return null;
+    }
+
+    private static List<XmlFile> findMappers(Project project, Collection<VirtualFile> files) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        List<XmlFile> mappers = new ArrayList<>();
+        for (VirtualFile file : files) {
+            PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile instanceof XmlFile) {
+                XmlTag rootTag = ((XmlFile) psiFile).getRootTag();
+                if (rootTag != null && "mapper".equals(rootTag.getName())) {
+                    mappers.add((XmlFile) psiFile);
+                }
+            }
+        }
+        return mappers;
+    }
+
+    /**
+     * Finds the entity a mapper works on: the type of its first resultMap, otherwise the class named like the
+     * namespace without the {@code Mapper} suffix.
+     */
+    public static PsiClass findEntityClass(XmlFile mapper) {
+        XmlTag rootTag = mapper.getRootTag();
+        if (rootTag == null) {
+            return null;
+        }
+        Project project = mapper.getProject();
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+        for (XmlTag resultMap : rootTag.findSubTags("resultMap")) {
+            String type = resultMap.getAttributeValue("type");
+            PsiClass entityClass = type != null ? JavaPsiFacade.getInstance(project).findClass(type, scope) : null;
+            if (entityClass != null) {
+                return entityClass;
+            }
+        }
+        String namespace = rootTag.getAttributeValue("namespace");
+        if (namespace == null || !namespace.endsWith("Mapper")) {
+            return null;
+        }
+        String entityName = namespace.substring(namespace.lastIndexOf('.') + 1, namespace.length() - "Mapper".length());
+        PsiClass[] candidates = PsiShortNamesCache.getInstance(project).getClassesByName(entityName, GlobalSearchScope.projectScope(project));
+        return candidates.length == 1 ? candidates[0] : null;
+    }
+
+    public static String findResultMapId(XmlFile mapper, String type) {
+        XmlTag rootTag = mapper.getRootTag();
+        if (rootTag == null || type == null) {
+            return null;
+        }
+        for (XmlTag resultMap : rootTag.findSubTags("resultMap")) {
+            if (type.equals(resultMap.getAttributeValue("type"))) {
+                return resultMap.getAttributeValue("id");
+            }
+        }
+        return null;
+    }
+
+    public static boolean hasSqlFragment(XmlFile mapper, String id) {
+        XmlTag rootTag = mapper.getRootTag();
+        if (rootTag == null) {
+            return false;
+        }
+        for (XmlTag sql : rootTag.findSubTags("sql")) {
+            if (id.equals(sql.getAttributeValue("id"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean hasCache(XmlFile mapper) {
+        XmlTag rootTag = mapper.getRootTag();
+        return rootTag != null && (rootTag.findFirstSubTag("cache") != null || rootTag.findFirstSubTag("cache-ref") != null);
+    }
+
+    private MapperXmlUtil() {
+        throw new AssertionError("MapperXmlUtil is a utility class and should not be instantiated");
+    }
+}
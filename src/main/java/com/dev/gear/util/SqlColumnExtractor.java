@@ -0,0 +1,100 @@
+package com.dev.gear.util;
+
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.psi.xml.XmlText;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lightweight scanner that pulls the column and table names out of a mapper statement. It is not a SQL
+ * parser: parameters, string literals, keywords and function names are skipped, and the identifier after
+ * FROM/JOIN/UPDATE/INTO is taken as a table. Aliases are skipped, both after AS and implicit ones, i.e. an
+ * identifier following a name or a closing parenthesis with only whitespace in between.
+ */
+public class SqlColumnExtractor {
+
+    private static final Pattern PARAMETERS_AND_LITERALS = Pattern.compile("[#$]\\{[^}]*}|'(?:[^']|'')*'");
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_$.]*");
+
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+            "select", "from", "where", "and", "or", "not", "null", "is", "in", "like", "between", "exists",
+            "update", "set", "insert", "into", "values", "delete", "limit", "offset", "order", "group", "by",
+            "having", "asc", "desc", "as", "on", "join", "left", "right", "inner", "outer", "cross", "distinct",
+            "case", "when", "then", "else", "end", "union", "all", "true", "false", "duplicate", "key",
+            "conflict", "do", "nothing", "merge", "using", "matched", "interval", "escape", "for", "with",
+            "current_timestamp", "current_date", "current_time", "localtimestamp", "localtime", "sysdate",
+            "systimestamp", "default", "fetch", "first", "next", "row", "rows", "only", "dual", "nulls", "last",
+            "ignore", "returning", "unknown"));
+
+    private static final Set<String> TABLE_PREFIXES = new HashSet<>(Arrays.asList("from", "join", "update", "into"));
+
+    public static class Result {
+        public final Set<String> columns = new LinkedHashSet<>();
+        public final Set<String> tables = new LinkedHashSet<>();
+    }
+
+    public static Result extract(XmlTag statementTag) {
+        StringBuilder sql = new StringBuilder();
+        for (XmlText text : PsiTreeUtil.findChildrenOfType(statementTag, XmlText.class)) {
+            sql.append(text.getValue()).append(' ');
+        }
+        return extract(sql.toString());
+    }
+
+    public static Result extract(String sql) {
+        Result result = new Result();
+        String stripped = PARAMETERS_AND_LITERALS.matcher(sql).replaceAll(" ");
+        Matcher matcher = IDENTIFIER.matcher(stripped);
+        String beforePrevious = "";
+        String previous = "";
+        int previousEnd = 0;
+        while (matcher.find()) {
+            String token = matcher.group();
+            String lowerCaseToken = token.toLowerCase(Locale.ROOT);
+            String name = lowerCaseToken.substring(lowerCaseToken.lastIndexOf('.') + 1);
+            // ON DUPLICATE KEY UPDATE is followed by columns, not by a table
+            if (TABLE_PREFIXES.contains(previous) && !"key".equals(beforePrevious) && !KEYWORDS.contains(lowerCaseToken)) {
+                result.tables.add(name);
+            } else if (!KEYWORDS.contains(lowerCaseToken) && !"as".equals(previous)
+                    && !isImplicitAlias(stripped.substring(previousEnd, matcher.start()), previous)
+                    && !isFunctionCall(stripped, matcher.end())) {
+                result.columns.add(name);
+            }
+            beforePrevious = previous;
+            previous = lowerCaseToken;
+            previousEnd = matcher.end();
+        }
+        return result;
+    }
+
+    /**
+     * {@code FROM user u}, {@code SELECT user_name name}, {@code COUNT(*) total} and {@code (SELECT ...) t}: nothing but whitespace
+     * separates the alias from the name or parenthesis before it.
+     */
+    private static boolean isImplicitAlias(String gap, String previous) {
+        String separator = gap.trim();
+        if (separator.endsWith(")")) {
+            return true;
+        }
+        return separator.isEmpty() && !previous.isEmpty() && !KEYWORDS.contains(previous);
+    }
+
+    private static boolean isFunctionCall(String sql, int end) {
+        int i = end;
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+            i++;
+        }
+        return i < sql.length() && sql.charAt(i) == '(';
+    }
+
+    private SqlColumnExtractor() {
+        throw new AssertionError("SqlColumnExtractor is a utility class and should not be instantiated");
+    }
+}
@@ -0,0 +1,77 @@
+package com.dev.gear.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fingerprints statements by their canonical text: comments, statement ids and whitespace differences are
+ * dropped and the case of keywords and identifiers is folded, so equivalent statements in different mappers share
+ * a fingerprint.
+ */
+public class StatementFingerprint {
+
+    private static final Pattern XML_COMMENT = Pattern.compile("<!--.*?-->", Pattern.DOTALL);
+    private static final Pattern LINE_COMMENT = Pattern.compile("(?m)^\\s*//.*$");
+    private static final Pattern ID_ATTRIBUTE = Pattern.compile("\\sid\\s*=\\s*\"[^\"]*\"");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    /**
+     * Parameter names, OGNL tests, class names and string literals are case-sensitive and keep their case.
+     */
+    private static final Pattern CASE_SENSITIVE = Pattern.compile("[#$]\\{[^}]*}|\"[^\"]*\"|'[^']*'");
+    private static final Pattern STATEMENT_TAG = Pattern.compile("<(select|insert|update|delete)\\b.*?</\\1>", Pattern.DOTALL);
+    private static final int FINGERPRINT_BYTES = 8;
+
+    public static String of(String statementText) {
+        String canonical = canonicalize(statementText);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            StringBuilder fingerprint = new StringBuilder();
+            for (int i = 0; i < FINGERPRINT_BYTES; i++) {
+                fingerprint.append(String.format("%02x", digest[i]));
+            }
+            return fingerprint.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static String canonicalize(String statementText) {
+        String text = XML_COMMENT.matcher(statementText).replaceAll(" ");
+        text = LINE_COMMENT.matcher(text).replaceAll(" ");
+        text = ID_ATTRIBUTE.matcher(text).replaceFirst("");
+        return foldCase(WHITESPACE.matcher(text).replaceAll(" ").trim());
+    }
+
+    private static String foldCase(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        Matcher matcher = CASE_SENSITIVE.matcher(text);
+        int start = 0;
+        while (matcher.find()) {
+            folded.append(text.substring(start, matcher.start()).toLowerCase(Locale.ROOT)).append(matcher.group());
+            start = matcher.end();
+        }
+        return folded.append(text.substring(start).toLowerCase(Locale.ROOT)).toString();
+    }
+
+    /**
+     * @return the select, insert, update and delete tags of generated mapper XML, in order
+     */
+    public static List<String> findStatementTexts(String mapperXml) {
+        List<String> statements = new ArrayList<>();
+        Matcher matcher = STATEMENT_TAG.matcher(mapperXml);
+        while (matcher.find()) {
+            statements.add(matcher.group());
+        }
+        return statements;
+    }
+
+    private StatementFingerprint() {
+        throw new AssertionError("StatementFingerprint is a utility class and should not be instantiated");
+    }
+}
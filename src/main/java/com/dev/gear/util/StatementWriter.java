@@ -0,0 +1,210 @@
+package com.dev.gear.util;
+
+import com.dev.gear.type.OrmType;
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.PsiShortNamesCache;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Writes generated statements into the project through PSI. Only the inserted or replaced element is
+ * reformatted, so large mapper files are neither reparsed nor reformatted as a whole.
+ */
+public class StatementWriter {
+
+    public static class GeneratedStatement {
+        public final OrmType orm;
+        public final PsiClass databaseEntityClass;
+        public final String text;
+
+        public GeneratedStatement(OrmType orm, PsiClass databaseEntityClass, String text) {
+            this.orm = orm;
+            this.databaseEntityClass = databaseEntityClass;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Applies all statements in a single write command, so one undo reverts the whole batch.
+     *
+     * @return a message for every statement whose target mapper, class or mapper interface could not be found;
+     * such statements are skipped as a whole
+     */
+    public static List<String> write(Project project, List<GeneratedStatement> statements) {
+        List<String> problems = new ArrayList<>();
+        List<GeneratedStatement> writable = new ArrayList<>();
+        List<PsiElement> targets = new ArrayList<>();
+        List<PsiClass> generatedClasses = new ArrayList<>();
+        Set<PsiFile> files = new LinkedHashSet<>();
+
+        for (GeneratedStatement statement : statements) {
+            PsiElement target = findTarget(project, statement);
+            if (target == null) {
+                problems.add("No " + (statement.orm == OrmType.MYBATIS ? "mapper XML" : "service class")
+                        + " found for " + statement.databaseEntityClass.getName());
+                continue;
+            }
+            PsiClass generated = null;
+            PsiClass mapperInterface = null;
+            if (statement.orm != OrmType.MYBATIS) {
+                generated = JavaPsiFacade.getElementFactory(project).createClassFromText(statement.text, target);
+                mapperInterface = findMapperInterface(project, statement.databaseEntityClass);
+                // The service method calls the mapper method, so writing only one of them leaves code that does not compile
+                if (mapperInterface == null && hasMapperMethods(generated)) {
+                    problems.add("No " + statement.databaseEntityClass.getName() + "Mapper interface found for the mapper methods of "
+                            + statement.databaseEntityClass.getName());
+                    continue;
+                }
+            }
+            writable.add(statement);
+            targets.add(target);
+            generatedClasses.add(generated);
+            files.add(target.getContainingFile());
+            if (mapperInterface != null) {
+                files.add(mapperInterface.getContainingFile());
+            }
+        }
+
+        if (!writable.isEmpty()) {
+            WriteCommandAction.writeCommandAction(project, files.toArray(PsiFile.EMPTY_ARRAY))
+                    .withName("Insert Generated SQL")
+                    .run(() -> {
+                        for (int i = 0; i < writable.size(); i++) {
+                            PsiElement target = targets.get(i);
+                            if (target instanceof XmlFile) {
+                                writeToMapper(project, (XmlFile) target, writable.get(i).text);
+                            } else {
+                                writeToClass(project, (PsiClass) target, generatedClasses.get(i), writable.get(i).databaseEntityClass);
+                            }
+                        }
+                    });
+        }
+        return problems;
+    }
+
+    private static PsiElement findTarget(Project project, GeneratedStatement statement) {
+        if (statement.orm == OrmType.MYBATIS) {
+            return MapperXmlUtil.findTargetMapper(project, statement.databaseEntityClass);
+        }
+        return findServiceClass(project, statement.databaseEntityClass);
+    }
+
+    /**
+     * @return the class that receives the generated Java methods of the entity, or null when there is none or the
+     * indexes are not ready
+     */
+    public static PsiClass findServiceClass(Project project, PsiClass databaseEntityClass) {
+        if (DumbService.isDumb(project)) {
+            return null;
+        }
+        String entityName = databaseEntityClass.getName();
+        PsiShortNamesCache namesCache = PsiShortNamesCache.getInstance(project);
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        for (String className : new String[]{entityName + "ServiceImpl", entityName + "Service", entityName + "RepositoryImpl"}) {
+            for (PsiClass psiClass : namesCache.getClassesByName(className, scope)) {
+                if (!psiClass.isInterface()) {
+                    return psiClass;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void writeToMapper(Project project, XmlFile mapper, String xml) {
+        XmlTag rootTag = mapper.getRootTag();
+        XmlFile fragment = (XmlFile) PsiFileFactory.getInstance(project)
+                .createFileFromText("fragment.xml", XmlFileType.INSTANCE, "<mapper>\n" + xml + "\n</mapper>");
+        XmlTag fragmentRoot = fragment.getRootTag();
+        if (rootTag == null || fragmentRoot == null) {
+            return;
+        }
+
+        for (XmlTag tag : fragmentRoot.getSubTags()) {
+            XmlTag existing = findSubTag(rootTag, tag.getName(), tag.getAttributeValue("id"));
+            PsiElement written = existing != null ? existing.replace(tag) : rootTag.addSubTag(tag, false);
+            CodeStyleManager.getInstance(project).reformat(written);
+        }
+    }
+
+    private static XmlTag findSubTag(XmlTag rootTag, String name, String id) {
+        for (XmlTag subTag : rootTag.findSubTags(name)) {
+            if (Objects.equals(id, subTag.getAttributeValue("id"))) {
+                return subTag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes every method of the generated text. Methods without a body are mapper methods and go into the
+     * entity's {@code <Entity>Mapper} interface, all others into the service class. Fields go into the service
+     * class unless it already declares a field of that name.
+     */
+    private static void writeToClass(Project project, PsiClass targetClass, PsiClass generated, PsiClass databaseEntityClass) {
+        for (PsiField field : generated.getFields()) {
+            if (targetClass.findFieldByName(field.getName(), false) == null) {
+                CodeStyleManager.getInstance(project).reformat(targetClass.add(field));
+            }
+        }
+        for (PsiMethod method : generated.getMethods()) {
+            if (method.getBody() != null) {
+                writeMethod(project, targetClass, method);
+            } else {
+                writeMethod(project, findMapperInterface(project, databaseEntityClass), method);
+            }
+        }
+    }
+
+    private static boolean hasMapperMethods(PsiClass generated) {
+        for (PsiMethod method : generated.getMethods()) {
+            if (method.getBody() == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static PsiClass findMapperInterface(Project project, PsiClass databaseEntityClass) {
+        for (PsiClass psiClass : PsiShortNamesCache.getInstance(project)
+                .getClassesByName(databaseEntityClass.getName() + "Mapper", GlobalSearchScope.projectScope(project))) {
+            if (psiClass.isInterface()) {
+                return psiClass;
+            }
+        }
+        return null;
+    }
+
+    private static void writeMethod(Project project, PsiClass targetClass, PsiMethod method) {
+        PsiMethod existing = null;
+        for (PsiMethod candidate : targetClass.findMethodsByName(method.getName(), false)) {
+            if (candidate.getParameterList().getParametersCount() == method.getParameterList().getParametersCount()) {
+                existing = candidate;
+                break;
+            }
+        }
+        PsiElement written = existing != null ? existing.replace(method) : targetClass.add(method);
+        CodeStyleManager.getInstance(project).reformat(written);
+    }
+
+    private StatementWriter() {
+        throw new AssertionError("StatementWriter is a utility class and should not be instantiated");
+    }
+}
@@ -3,40 +3,27 @@ package com.dev.gear.util;
 import com.dev.gear.type.ConditionType;
 import com.dev.gear.type.ConnectionType;
 import javax.swing.*;
-import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
-import java.awt.*;
+import javax.swing.table.TableCellEditor;
 import java.util.Arrays;
 
 public class UIHelper {
 
-    public static JDialog createDialog(String title, JPanel contentPanel) {
-        JDialog dialog = new JDialog((Frame) null, title, true);
-        dialog.setContentPane(contentPanel);
-        dialog.pack();
-        dialog.setLocationRelativeTo(null);
-        return dialog;
-    }
-
-    public static JTable createFieldSelectionTable(DefaultTableModel model) {
+    public static JTable createFieldSelectionTable(FieldSelectionTableModel model) {
         JTable table = new JTable(model);
-        table.getColumnModel().getColumn(0).setCellRenderer(new DefaultTableCellRenderer() {
-            @Override
-            public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-                if (value instanceof com.intellij.psi.PsiField) {
-                    com.intellij.psi.PsiField field = (com.intellij.psi.PsiField) value;
-                    value = field.getName();
-                }
-                return super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-            }
-        });
+        // Editors are created once per table; refreshing the entity only swaps the field combo's items
+        table.getColumnModel().getColumn(FieldSelectionTableModel.CONDITION_COLUMN).setCellEditor(new DefaultCellEditor(createConditionComboBox()));
+        table.getColumnModel().getColumn(FieldSelectionTableModel.CONNECTION_COLUMN).setCellEditor(new DefaultCellEditor(new JComboBox<>(ConnectionType.values())));
+        table.getColumnModel().getColumn(FieldSelectionTableModel.DATABASE_FIELD_COLUMN).setCellEditor(new DefaultCellEditor(new JComboBox<String>()));
         return table;
     }
 
+    @SuppressWarnings("unchecked")
     public static void setupTableRenderers(JTable table, String[] databaseFieldNames) {
-        table.getColumnModel().getColumn(3).setCellEditor(new DefaultCellEditor(createConditionComboBox()));
-        table.getColumnModel().getColumn(4).setCellEditor(new DefaultCellEditor(new JComboBox<>(ConnectionType.values())));
-        table.getColumnModel().getColumn(5).setCellEditor(new DefaultCellEditor(new JComboBox<>(databaseFieldNames)));
+        TableCellEditor editor = table.getColumnModel().getColumn(FieldSelectionTableModel.DATABASE_FIELD_COLUMN).getCellEditor();
+        if (editor instanceof DefaultCellEditor && ((DefaultCellEditor) editor).getComponent() instanceof JComboBox) {
+            JComboBox<String> comboBox = (JComboBox<String>) ((DefaultCellEditor) editor).getComponent();
+            comboBox.setModel(new DefaultComboBoxModel<>(databaseFieldNames));
+        }
     }
 
     private static JComboBox<String> createConditionComboBox() {
@@ -51,4 +38,4 @@ public class UIHelper {
     private UIHelper() {
         throw new AssertionError("UIHelper is a utility class and should not be instantiated");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package com.dev.gear.generator;
+
+import com.dev.gear.FieldWithCondition;
+import com.dev.gear.type.OrmType;
+import com.dev.gear.type.SqlType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput and allocation of every generator for every {@link SqlType} its ORM supports on synthetic entities of
+ * growing width, with a time and an allocation budget per operation. Excluded from the default test run, see
+ * build.gradle.
+ */
+public class SqlGeneratorPerformanceTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 100;
+
+    public void testTenFields() {
+        runScenario(10, 1, 512 * 1024);
+    }
+
+    public void testHundredFields() {
+        runScenario(100, 5, 4 * 1024 * 1024);
+    }
+
+    public void testThousandFields() {
+        runScenario(1_000, 50, 64 * 1024 * 1024);
+    }
+
+    private void runScenario(int fieldCount, int budgetMsPerOperation, long budgetBytesPerOperation) {
+        PsiClass databaseEntityClass = myFixture.addClass(createClassText("BenchEntity" + fieldCount, fieldCount, true));
+        PsiClass selectedClass = myFixture.addClass(createClassText("BenchEntity" + fieldCount + "Query", fieldCount, false));
+        List<FieldWithCondition> selectedFields = createSelectedFields(selectedClass);
+
+        for (OrmType orm : OrmType.values()) {
+            SqlGenerator sqlGenerator = SqlGeneratorFactory.createSqlGenerator(orm);
+            for (SqlType sqlType : orm.getSupportedSqlTypes()) {
+                Runnable generate = () -> {
+                    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                        sqlGenerator.generateSql(selectedClass, selectedFields, sqlType, databaseEntityClass);
+                    }
+                };
+                for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                    sqlGenerator.generateSql(selectedClass, selectedFields, sqlType, databaseEntityClass);
+                }
+                long allocatedBefore = allocatedBytes();
+                generate.run();
+                long allocatedPerOperation = (allocatedBytes() - allocatedBefore) / MEASURED_ITERATIONS;
+                assertTrue(orm + " " + sqlType + " with " + fieldCount + " fields allocates " + allocatedPerOperation
+                                + " bytes per operation, the budget is " + budgetBytesPerOperation,
+                        allocatedPerOperation <= budgetBytesPerOperation);
+
+                PlatformTestUtil.startPerformanceTest(orm + " " + sqlType + " with " + fieldCount + " fields",
+                                budgetMsPerOperation * MEASURED_ITERATIONS, generate::run)
+                        .assertTiming();
+            }
+        }
+    }
+
+    private static String createClassText(String className, int fieldCount, boolean entity) {
+        StringBuilder text = new StringBuilder("public class ").append(className).append(" {\n");
+        text.append(entity ? "    @com.baomidou.mybatisplus.annotation.TableId\n" : "")
+                .append("    private Long id;\n");
+        for (int i = 1; i < fieldCount; i++) {
+            text.append("    private ").append(i % 3 == 0 ? "Long" : "String").append(" field").append(i).append(";\n");
+        }
+        return text.append("}").toString();
+    }
+
+    private static List<FieldWithCondition> createSelectedFields(PsiClass selectedClass) {
+        List<FieldWithCondition> fields = new ArrayList<>();
+        for (PsiField field : selectedClass.getFields()) {
+            String condition;
+            if ("id".equals(field.getName())) {
+                condition = "=";
+            } else if (field.getType().equalsToText("java.lang.Long")) {
+                condition = ">=";
+            } else {
+                condition = fields.size() % 2 == 0 ? "like" : "=";
+            }
+            fields.add(new FieldWithCondition(field, condition, "AND", field.getName()));
+        }
+        return fields;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,136 @@
+package com.dev.gear.util;
+
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+/**
+ * Measures the {@link ClassChooserUtil} class cache on synthetic projects of 1k, 10k and 50k classes and fails when
+ * a scenario exceeds its budget. Excluded from the default test run, see build.gradle.
+ */
+public class ClassChooserPerformanceTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private static final int CLASSES_PER_PACKAGE = 500;
+    private static final int VFS_BURST_SIZE = 200;
+    private static final long VFS_REFRESH_TIMEOUT_MS = 60_000;
+    private static final String SEARCH_QUERY = "SyntheticEntity12345";
+
+    public void testThousandClasses() throws Exception {
+        runScenario(1_000, new Budget(1_000, 50, 2_000, 5));
+    }
+
+    public void testTenThousandClasses() throws Exception {
+        runScenario(10_000, new Budget(5_000, 250, 5_000, 20));
+    }
+
+    public void testFiftyThousandClasses() throws Exception {
+        runScenario(50_000, new Budget(20_000, 1_000, 15_000, 80));
+    }
+
+    private void runScenario(int classCount, Budget budget) throws Exception {
+        VirtualFile sourceRoot = myFixture.getTempDirFixture().getFile("");
+        generateClasses(sourceRoot, "synthetic", 0, classCount);
+
+        long heapBefore = usedHeapAfterGc();
+        resetPeakHeap();
+        PlatformTestUtil.startPerformanceTest("cold index of " + classCount + " classes", budget.coldIndexMs,
+                        () -> ClassChooserUtil.refreshProjectClassCache(getProject()))
+                .attempts(1)
+                .assertTiming();
+        assertEquals(classCount, ClassChooserUtil.getCachedClasses(getProject()).size());
+        long peakMb = (peakHeap() - heapBefore) / (1024 * 1024);
+        long retainedMb = (usedHeapAfterGc() - heapBefore) / (1024 * 1024);
+        assertTrue("Peak heap " + peakMb + " MB exceeds " + 2 * budget.retainedMb + " MB", peakMb <= 2 * budget.retainedMb);
+        assertTrue("Retained heap " + retainedMb + " MB exceeds " + budget.retainedMb + " MB", retainedMb <= budget.retainedMb);
+
+        ClassChooserUtil.initialize(getProject(), getTestRootDisposable());
+        long burstStart = System.currentTimeMillis();
+        generateClasses(sourceRoot, "burst", classCount, VFS_BURST_SIZE);
+        int expectedCount = classCount + VFS_BURST_SIZE;
+        while (cachedClassCount() != expectedCount) {
+            assertTrue("Class cache not consistent after " + VFS_REFRESH_TIMEOUT_MS + " ms",
+                    System.currentTimeMillis() - burstStart < VFS_REFRESH_TIMEOUT_MS);
+            PlatformTestUtil.dispatchAllEventsInIdeEventQueue();
+            Thread.sleep(10);
+        }
+        long vfsRefreshMs = System.currentTimeMillis() - burstStart;
+        assertTrue("VFS burst took " + vfsRefreshMs + " ms to reach a consistent cache, budget " + budget.vfsRefreshMs + " ms",
+                vfsRefreshMs <= budget.vfsRefreshMs);
+
+        PlatformTestUtil.startPerformanceTest("per-keystroke search over " + expectedCount + " classes",
+                        budget.keystrokeMs * SEARCH_QUERY.length(),
+                        () -> {
+                            for (int length = 1; length <= SEARCH_QUERY.length(); length++) {
+                                ClassChooserUtil.findMatchingClasses(getProject(), SEARCH_QUERY.substring(0, length), true);
+                            }
+                        })
+                .assertTiming();
+    }
+
+    private static void generateClasses(VirtualFile sourceRoot, String packagePrefix, int firstIndex, int count) throws IOException {
+        WriteAction.runAndWait(() -> {
+            VirtualFile packageDir = null;
+            for (int i = 0; i < count; i++) {
+                if (i % CLASSES_PER_PACKAGE == 0) {
+                    packageDir = VfsUtil.createDirectoryIfMissing(sourceRoot, packagePrefix + "/p" + (i / CLASSES_PER_PACKAGE));
+                }
+                String packageName = packagePrefix + ".p" + (i / CLASSES_PER_PACKAGE);
+                String className = "SyntheticEntity" + (firstIndex + i);
+                VirtualFile file = packageDir.createChildData(ClassChooserPerformanceTest.class, className + ".java");
+                VfsUtil.saveText(file, "package " + packageName + ";\n\npublic class " + className + " {\n"
+                        + "    private Long id;\n    private String name" + i + ";\n}\n");
+            }
+        });
+    }
+
+    private int cachedClassCount() {
+        List<PsiClass> classes = ClassChooserUtil.getCachedClasses(getProject());
+        return classes != null ? classes.size() : -1;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static class Budget {
+        final int coldIndexMs;
+        final long retainedMb;
+        final long vfsRefreshMs;
+        final int keystrokeMs;
+
+        Budget(int coldIndexMs, long retainedMb, long vfsRefreshMs, int keystrokeMs) {
+            this.coldIndexMs = coldIndexMs;
+            this.retainedMb = retainedMb;
+            this.vfsRefreshMs = vfsRefreshMs;
+            this.keystrokeMs = keystrokeMs;
+        }
+    }
+}